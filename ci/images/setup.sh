@@ -26,6 +26,13 @@ curl -L ${JDK_URL} | tar zx --strip-components=1
 test -f /opt/openjdk/bin/java
 test -f /opt/openjdk/bin/javac
 
+JDK11_URL='https://github.com/bell-sw/Liberica/releases/download/11.0.20+8/bellsoft-jdk11.0.20+8-linux-amd64.tar.gz'
+
+mkdir -p /opt/openjdk-11
+cd /opt/openjdk-11
+curl -L ${JDK11_URL} | tar zx --strip-components=1
+test -f /opt/openjdk-11/bin/javac
+
 
 ###########################################################
 # DOCKER
@@ -46,4 +53,5 @@ entrykit --symlink
 # GRADLE ENTERPRISE
 ###########################################################
 mkdir ~/.gradle
-echo 'systemProp.user.name=concourse' > ~/.gradle/gradle.properties
\ No newline at end of file
+echo 'systemProp.user.name=concourse' > ~/.gradle/gradle.properties
+echo 'org.gradle.java.installations.paths=/opt/openjdk-11' >> ~/.gradle/gradle.properties
\ No newline at end of file
@@ -16,14 +16,10 @@
 
 package io.spring.asciidoctor.sectionids;
 
-import java.util.List;
+import java.util.Objects;
 import java.util.regex.Pattern;
 
-import org.asciidoctor.ast.ContentNode;
-import org.asciidoctor.ast.DescriptionListEntry;
 import org.asciidoctor.ast.Document;
-import org.asciidoctor.ast.Section;
-import org.asciidoctor.ast.StructuralNode;
 import org.asciidoctor.extension.Treeprocessor;
 import org.asciidoctor.log.LogHandler;
 import org.asciidoctor.log.LogRecord;
@@ -49,61 +45,55 @@ public class SectionIdsTreeprocessor extends Treeprocessor {
 
 	@Override
 	public Document process(Document document) {
-		process(document, false);
+		SectionIdsEvent event = new SectionIdsEvent();
+		event.begin();
+		int sectionCount = processSections(document);
+		event.end();
+		if (event.shouldCommit()) {
+			event.document = Objects.toString(document.getAttribute("docfile"), null);
+			event.sectionCount = sectionCount;
+			event.commit();
+		}
 		return document;
 	}
 
-	private void process(StructuralNode structuralNode, boolean illegalAncestorId) {
-		if (structuralNode instanceof Section) {
-			Section parent = findParentSection(structuralNode);
-			Section section = (Section) structuralNode;
-			String id = section.getId();
-			if (parent != null) {
-				if (illegalAncestorId) {
-					this.log.log(new LogRecord(Severity.INFO,
-							"Section with ID '" + id + "' has an ancestor with an illegal ID."));
-				}
-				else if (!id.startsWith(parent.getId() + ".")) {
-					this.log.log(new LogRecord(Severity.WARN,
-							"Section ID '" + id + "' should start with '" + parent.getId() + ".'"));
-					illegalAncestorId = true;
-				}
-				else {
-					String tail = id.substring(parent.getId().length() + 1);
-					if (!TAIL_PATTERN.matcher(tail).matches()) {
-						this.log.log(new LogRecord(Severity.WARN,
-								"'" + tail + "' tail of section ID '" + section.getId() + "' should use kebab-case"));
-					}
-				}
-			}
-			else if (!TOP_LEVEL_PATTERN.matcher(id).matches()) {
-				this.log.log(new LogRecord(Severity.WARN, "Top-level section ID '" + id + "' should use kebab-case"));
-			}
-		}
-		List<StructuralNode> children = getChildren(structuralNode);
-		if (children != null) {
-			for (StructuralNode child : children) {
-				process(child, illegalAncestorId);
-			}
+	private int processSections(Document document) {
+		SectionTree sections = SectionTree.of(document);
+		boolean[] illegalIds = new boolean[sections.size()];
+		for (int i = 0; i < sections.size(); i++) {
+			int parent = sections.getParent(i);
+			boolean illegalAncestorId = parent != SectionTree.NO_PARENT && illegalIds[parent];
+			illegalIds[i] = process(sections, i, illegalAncestorId);
 		}
+		return sections.size();
 	}
 
-	private Section findParentSection(ContentNode contentNode) {
-		contentNode = contentNode.getParent();
-		while (contentNode != null) {
-			if (contentNode instanceof Section) {
-				return ((Section) contentNode);
+	private boolean process(SectionTree sections, int index, boolean illegalAncestorId) {
+		String id = sections.getId(index);
+		int parent = sections.getParent(index);
+		if (parent != SectionTree.NO_PARENT) {
+			String parentId = sections.getId(parent);
+			if (illegalAncestorId) {
+				this.log.log(new LogRecord(Severity.INFO,
+						"Section with ID '" + id + "' has an ancestor with an illegal ID."));
+			}
+			else if (!id.startsWith(parentId + ".")) {
+				this.log.log(new LogRecord(Severity.WARN,
+						"Section ID '" + id + "' should start with '" + parentId + ".'"));
+				return true;
+			}
+			else {
+				String tail = id.substring(parentId.length() + 1);
+				if (!TAIL_PATTERN.matcher(tail).matches()) {
+					this.log.log(new LogRecord(Severity.WARN,
+							"'" + tail + "' tail of section ID '" + id + "' should use kebab-case"));
+				}
 			}
-			contentNode = contentNode.getParent();
 		}
-		return null;
-	}
-
-	private List<StructuralNode> getChildren(StructuralNode structuralNode) {
-		if (structuralNode instanceof DescriptionListEntry) {
-			return ((DescriptionListEntry) structuralNode).getDescription().getBlocks();
+		else if (!TOP_LEVEL_PATTERN.matcher(id).matches()) {
+			this.log.log(new LogRecord(Severity.WARN, "Top-level section ID '" + id + "' should use kebab-case"));
 		}
-		return structuralNode.getBlocks();
+		return illegalAncestorId;
 	}
 
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.sectionids;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.Section;
+import org.asciidoctor.ast.StructuralNode;
+
+/**
+ * A snapshot of the sections of a {@link Document}, captured in a single pass over its
+ * AST. Each section is identified by its index in document order and its ID and the
+ * index of its parent section are held in arrays so that they can be analyzed without
+ * further calls into the AST.
+ *
+ * @author Andy Wilkinson
+ */
+final class SectionTree {
+
+	static final int NO_PARENT = -1;
+
+	private String[] ids = new String[16];
+
+	private int[] parents = new int[16];
+
+	private int size;
+
+	private SectionTree() {
+	}
+
+	/**
+	 * Returns the number of sections in the tree.
+	 * @return the number of sections
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the ID of the section at the given {@code index}.
+	 * @param index the index of the section
+	 * @return the ID
+	 */
+	String getId(int index) {
+		return this.ids[index];
+	}
+
+	/**
+	 * Returns the index of the parent section of the section at the given
+	 * {@code index}. A parent is always before its children in document order so the
+	 * returned index is less than {@code index}.
+	 * @param index the index of the section
+	 * @return the index of the parent or {@link #NO_PARENT} if the section is top-level
+	 */
+	int getParent(int index) {
+		return this.parents[index];
+	}
+
+	private int add(String id, int parent) {
+		if (this.size == this.ids.length) {
+			this.ids = Arrays.copyOf(this.ids, this.size * 2);
+			this.parents = Arrays.copyOf(this.parents, this.size * 2);
+		}
+		this.ids[this.size] = id;
+		this.parents[this.size] = parent;
+		return this.size++;
+	}
+
+	/**
+	 * Creates a snapshot of the sections of the given {@code document}. Sections can only
+	 * be children of the document or of another section so no other blocks are searched.
+	 * @param document the document
+	 * @return the snapshot
+	 */
+	static SectionTree of(Document document) {
+		SectionTree tree = new SectionTree();
+		Deque<Frame> stack = new ArrayDeque<>();
+		push(stack, document, NO_PARENT);
+		while (!stack.isEmpty()) {
+			Frame frame = stack.pop();
+			int index = tree.add(frame.section.getId(), frame.parent);
+			push(stack, frame.section, index);
+		}
+		return tree;
+	}
+
+	private static void push(Deque<Frame> stack, StructuralNode node, int parent) {
+		List<StructuralNode> children = node.getBlocks();
+		if (children == null) {
+			return;
+		}
+		for (int i = children.size() - 1; i >= 0; i--) {
+			StructuralNode child = children.get(i);
+			if (child instanceof Section) {
+				stack.push(new Frame((Section) child, parent));
+			}
+		}
+	}
+
+	private static final class Frame {
+
+		private final Section section;
+
+		private final int parent;
+
+		private Frame(Section section, int parent) {
+			this.section = section;
+			this.parent = parent;
+		}
+
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.sectionids;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Event recorded for each pass of the {@link SectionIdsTreeprocessor} over a document.
+ *
+ * @author Andy Wilkinson
+ */
+@Name("io.spring.asciidoctor.sectionids.SectionIds")
+@Label("Section IDs Validation")
+@Description("Pass of the section IDs treeprocessor over a document")
+@Category({ "Spring Asciidoctor Extensions", "Section IDs" })
+class SectionIdsEvent extends Event {
+
+	@Label("Document")
+	@Description("File of the document that was processed")
+	String document;
+
+	@Label("Section Count")
+	@Description("Number of sections whose IDs were validated")
+	int sectionCount;
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.sectionids;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.ast.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SectionTree}.
+ *
+ * @author Andy Wilkinson
+ */
+class SectionTreeTests {
+
+	private final Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+
+	@Test
+	void sectionsAreCapturedInDocumentOrderWithTheirParents() {
+		SectionTree sections = SectionTree.of(load("= Document\n\n[[alpha]]\n== Alpha\n\n[[alpha.one]]\n=== One\n\n"
+				+ "[[alpha.one.nested]]\n==== Nested\n\n[[alpha.two]]\n=== Two\n\n[[bravo]]\n== Bravo\n"));
+		assertThat(sections.size()).isEqualTo(5);
+		assertThat(sections.getId(0)).isEqualTo("alpha");
+		assertThat(sections.getParent(0)).isEqualTo(SectionTree.NO_PARENT);
+		assertThat(sections.getId(1)).isEqualTo("alpha.one");
+		assertThat(sections.getParent(1)).isEqualTo(0);
+		assertThat(sections.getId(2)).isEqualTo("alpha.one.nested");
+		assertThat(sections.getParent(2)).isEqualTo(1);
+		assertThat(sections.getId(3)).isEqualTo("alpha.two");
+		assertThat(sections.getParent(3)).isEqualTo(0);
+		assertThat(sections.getId(4)).isEqualTo("bravo");
+		assertThat(sections.getParent(4)).isEqualTo(SectionTree.NO_PARENT);
+	}
+
+	@Test
+	void whenDocumentHasNoSectionsTreeIsEmpty() {
+		assertThat(SectionTree.of(load("= Document\n\nSome text.\n")).size()).isZero();
+	}
+
+	private Document load(String source) {
+		return this.asciidoctor.load(source, options());
+	}
+
+	@SuppressWarnings("deprecation")
+	private Options options() {
+		return new Options();
+	}
+
+}
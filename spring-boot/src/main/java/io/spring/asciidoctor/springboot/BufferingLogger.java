@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Logger} that buffers the messages logged by the current thread and passes
+ * them to a delegate when {@link #flush() flushed}. Repeated messages are only passed to
+ * the delegate once, with the number of times that they were logged appended.
+ *
+ * @author Andy Wilkinson
+ */
+final class BufferingLogger implements Logger {
+
+	private final Logger delegate;
+
+	private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+	BufferingLogger(Logger delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void warn(String message) {
+		this.buffers.get().add(new Message(message, true));
+	}
+
+	@Override
+	public void debug(String message) {
+		if (this.delegate.isDebugEnabled()) {
+			this.buffers.get().add(new Message(message, false));
+		}
+	}
+
+	@Override
+	public boolean isDebugEnabled() {
+		return this.delegate.isDebugEnabled();
+	}
+
+	/**
+	 * Passes the messages that have been buffered by the current thread to the delegate.
+	 */
+	void flush() {
+		this.buffers.get().flush(this.delegate);
+	}
+
+	/**
+	 * Starts buffering the messages of a new document on the current thread. Messages
+	 * that are still buffered from a previous document, for example because its
+	 * conversion failed before it was completed, are flushed without a summary.
+	 */
+	void start() {
+		complete(false);
+	}
+
+	/**
+	 * Flushes the messages that have been buffered by the current thread and, if
+	 * {@code summary} is {@code true}, logs a summary of the warnings that have been
+	 * logged by the thread since it was last completed.
+	 * @param summary whether to log a summary
+	 */
+	void complete(boolean summary) {
+		Buffer buffer = this.buffers.get();
+		this.buffers.remove();
+		buffer.flush(this.delegate);
+		if (summary && buffer.warnings > 0) {
+			this.delegate.warn(String.format("Configuration property validation logged %d %s for %d distinct %s.",
+					buffer.warnings, (buffer.warnings != 1) ? "warnings" : "warning", buffer.distinctWarnings.size(),
+					(buffer.distinctWarnings.size() != 1) ? "problems" : "problem"));
+		}
+	}
+
+	private static final class Buffer {
+
+		private final Map<Message, Integer> messages = new LinkedHashMap<>();
+
+		private final Set<String> distinctWarnings = new HashSet<>();
+
+		private int warnings;
+
+		private void add(Message message) {
+			this.messages.merge(message, 1, Integer::sum);
+			if (message.warning) {
+				this.warnings++;
+				this.distinctWarnings.add(message.text);
+			}
+		}
+
+		private void flush(Logger logger) {
+			this.messages.forEach((message, count) -> {
+				String text = (count > 1) ? message.text + " (" + count + " occurrences)" : message.text;
+				if (message.warning) {
+					logger.warn(text);
+				}
+				else {
+					logger.debug(text);
+				}
+			});
+			this.messages.clear();
+		}
+
+	}
+
+	private static final class Message {
+
+		private final String text;
+
+		private final boolean warning;
+
+		private Message(String text, boolean warning) {
+			this.text = text;
+			this.warning = warning;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Message other = (Message) obj;
+			return this.warning == other.warning && this.text.equals(other.text);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.text.hashCode() + Boolean.hashCode(this.warning);
+		}
+
+	}
+
+}
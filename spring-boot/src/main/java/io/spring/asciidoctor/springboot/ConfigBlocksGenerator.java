@@ -16,19 +16,59 @@
 
 package io.spring.asciidoctor.springboot;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
  * Generates {@link ConfigBlock} in different formats. Currently supports {@code .yaml} to
  * {@code .properties}.
+ * <p>
+ * Converted content is cached using a hash of the input's language and content as the
+ * key so that the same input is only converted once. The least recently used content is
+ * evicted when the total number of characters that are cached exceeds the cache's size.
  *
  * @author Phillip Webb
  */
 public class ConfigBlocksGenerator {
 
+	/**
+	 * Name of the system property that can be used to configure the maximum number of
+	 * characters of converted content that are cached.
+	 */
+	public static final String CACHE_SIZE_PROPERTY = "io.spring.asciidoctor.springboot.config-blocks.cache-size";
+
+	private static final int DEFAULT_CACHE_SIZE = 1024 * 1024;
+
 	private final YamlToPropertiesConverter yamlToProperties = new YamlToPropertiesConverter();
 
+	private final ContentCache cache;
+
+	/**
+	 * Creates a new generator that caches up to the number of characters configured
+	 * using the {@link #CACHE_SIZE_PROPERTY} system property.
+	 */
+	public ConfigBlocksGenerator() {
+		this(Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE));
+	}
+
+	/**
+	 * Creates a new generator that caches up to {@code cacheSize} characters of converted
+	 * content.
+	 * @param cacheSize the maximum number of characters to cache
+	 */
+	ConfigBlocksGenerator(int cacheSize) {
+		this.cache = new ContentCache(cacheSize);
+	}
+
 	/**
 	 * Apply generation based on the given input.
 	 * @param in the input
@@ -38,10 +78,67 @@ public class ConfigBlocksGenerator {
 		if (!"yaml".equalsIgnoreCase(in.getLanguage())) {
 			throw new IllegalArgumentException("Block generation is only supported for YAML inputs");
 		}
-		out.accept(createConfigData(in, "properties", this.yamlToProperties.convertLines(in.getContent())));
+		out.accept(createConfigData(in, "properties", convertToProperties(in)));
 		out.accept(createConfigData(in, "yaml", in.getContent()));
 	}
 
+	/**
+	 * Returns the number of conversions that have been answered from the cache.
+	 * @return the number of cache hits
+	 */
+	long getCacheHits() {
+		return this.cache.hits;
+	}
+
+	/**
+	 * Returns the number of conversions that could not be answered from the cache.
+	 * @return the number of cache misses
+	 */
+	long getCacheMisses() {
+		return this.cache.misses;
+	}
+
+	/**
+	 * Returns the proportion of conversions that have been answered from the cache.
+	 * @return the cache hit rate between {@code 0.0} and {@code 1.0}
+	 */
+	double getCacheHitRate() {
+		long hits = this.cache.hits;
+		long total = hits + this.cache.misses;
+		return (total != 0) ? (double) hits / total : 0.0;
+	}
+
+	private List<String> convertToProperties(ConfigBlock in) {
+		String key = getCacheKey(in);
+		List<String> properties = this.cache.get(key);
+		boolean cached = properties != null;
+		if (!cached) {
+			properties = Collections.unmodifiableList(this.yamlToProperties.convertLines(in.getContent()));
+			this.cache.put(key, properties);
+		}
+		SpringBootExtensionMetrics.get().configBlocksConverted(cached);
+		return properties;
+	}
+
+	private String getCacheKey(ConfigBlock in) {
+		MessageDigest digest = getDigest();
+		digest.update(in.getLanguage().toLowerCase(Locale.ENGLISH).getBytes(StandardCharsets.UTF_8));
+		for (String line : in.getContent()) {
+			digest.update((byte) '\n');
+			digest.update(line.getBytes(StandardCharsets.UTF_8));
+		}
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	private MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 	private ConfigBlock createConfigData(ConfigBlock in, String language, List<String> content) {
 		return new ConfigBlock(getTitle(in, language), language, content);
 	}
@@ -58,4 +155,59 @@ public class ConfigBlocksGenerator {
 		return title + " (" + langaugeName + ")";
 	}
 
+	/**
+	 * Least recently used cache of converted content that is bounded by the total number
+	 * of characters in the cached content.
+	 */
+	private static final class ContentCache {
+
+		private final int maxSize;
+
+		private final Map<String, List<String>> contents = new LinkedHashMap<>(16, 0.75f, true);
+
+		private long size;
+
+		private volatile long hits;
+
+		private volatile long misses;
+
+		private ContentCache(int maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		private synchronized List<String> get(String key) {
+			List<String> content = this.contents.get(key);
+			if (content != null) {
+				this.hits++;
+			}
+			else {
+				this.misses++;
+			}
+			return content;
+		}
+
+		private synchronized void put(String key, List<String> content) {
+			long contentSize = sizeOf(content);
+			if (contentSize > this.maxSize) {
+				return;
+			}
+			List<String> previous = this.contents.put(key, content);
+			this.size += contentSize - ((previous != null) ? sizeOf(previous) : 0);
+			Iterator<List<String>> eldest = this.contents.values().iterator();
+			while (this.size > this.maxSize) {
+				this.size -= sizeOf(eldest.next());
+				eldest.remove();
+			}
+		}
+
+		private static long sizeOf(List<String> content) {
+			long size = 0;
+			for (String line : content) {
+				size += line.length();
+			}
+			return size;
+		}
+
+	}
+
 }
@@ -17,10 +17,10 @@
 package io.spring.asciidoctor.springboot;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.asciidoctor.ast.Block;
-import org.asciidoctor.ast.DescriptionListEntry;
 import org.asciidoctor.ast.Document;
 import org.asciidoctor.ast.StructuralNode;
 import org.asciidoctor.extension.Treeprocessor;
@@ -34,22 +34,26 @@ public class ConfigurationBlocksTreeprocessor extends Treeprocessor {
 
 	private final ConfigBlocksGenerator generator;
 
+	private final Visitor visitor = new Visitor();
+
 	ConfigurationBlocksTreeprocessor(Logger logger) {
 		this.generator = new ConfigBlocksGenerator();
 	}
 
 	@Override
 	public Document process(Document document) {
-		process((StructuralNode) document);
+		TreeWalker.walk(getClass().getSimpleName(), document, Collections.singletonList(this.visitor));
 		return document;
 	}
 
-	private List<StructuralNode> process(StructuralNode node) {
-		if (node instanceof Block && hasAttribute(node, "configblocks")) {
-			return processBlock((Block) node);
-		}
-		processChildren(node);
-		return null;
+	/**
+	 * Returns the {@link TreeVisitor} that generates this processor's config property
+	 * blocks, allowing them to be generated as part of a walk that serves multiple
+	 * visitors.
+	 * @return the visitor
+	 */
+	TreeVisitor<?> visitor() {
+		return this.visitor;
 	}
 
 	private List<StructuralNode> processBlock(Block block) {
@@ -58,6 +62,7 @@ public class ConfigurationBlocksTreeprocessor extends Treeprocessor {
 		List<StructuralNode> result = new ArrayList<>();
 		this.generator.apply(in, (configData) -> result.add(createConfigDataBlock(block, configData)));
 		setRoles(result);
+		SpringBootExtensionMetrics.get().configBlocksGenerated(result.size());
 		return result;
 	}
 
@@ -76,37 +81,21 @@ public class ConfigurationBlocksTreeprocessor extends Treeprocessor {
 		return result;
 	}
 
-	private void processChildren(StructuralNode node) {
-		List<StructuralNode> children = getChildren(node);
-		if (children != null && !children.isEmpty()) {
-			int i = 0;
-			while (i < children.size()) {
-				StructuralNode child = children.get(i);
-				List<StructuralNode> processed = process(child);
-				if (processed != null) {
-					children.remove(i);
-					children.addAll(i, processed);
-					i += processed.size();
-				}
-				else {
-					i++;
-				}
-			}
-		}
-	}
+	private final class Visitor implements TreeVisitor<Void> {
 
-	private boolean hasAttribute(StructuralNode node, String attribute) {
-		if (node instanceof DescriptionListEntry) {
-			return false;
+		@Override
+		public Void start(Document document) {
+			return null;
 		}
-		return node.getAttributes().containsValue(attribute);
-	}
 
-	private List<StructuralNode> getChildren(StructuralNode node) {
-		if (node instanceof DescriptionListEntry) {
-			return ((DescriptionListEntry) node).getDescription().getBlocks();
+		@Override
+		public List<StructuralNode> visit(StructuralNode node, NodeAttributes attributes, Void state) {
+			if (node instanceof Block && attributes.hasPositional("configblocks")) {
+				return processBlock((Block) node);
+			}
+			return null;
 		}
-		return node.getBlocks();
+
 	}
 
 }
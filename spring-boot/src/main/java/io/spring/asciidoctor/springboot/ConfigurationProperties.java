@@ -17,21 +17,35 @@
 package io.spring.asciidoctor.springboot;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Type;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Enumeration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Configuration properties read from {@code META-INF/spring-configuration-metadata.json}.
@@ -40,13 +54,50 @@ import com.google.gson.reflect.TypeToken;
  */
 public final class ConfigurationProperties {
 
-	private static final Type MAP_TYPE = new MapTypeToken().getType();
+	static final String METADATA_RESOURCE = "META-INF/spring-configuration-metadata.json";
 
-	private final Map<String, ConfigurationProperty> properties;
+	private static final String[] NESTED_CLASSES_LOCATIONS = { "BOOT-INF/classes", "WEB-INF/classes" };
+
+	private static final String[] NESTED_LIB_LOCATIONS = { "BOOT-INF/lib", "WEB-INF/lib", "WEB-INF/lib-provided" };
+
+	/**
+	 * Name of the system property that can be used to specify the location of a
+	 * pre-generated {@link ConfigurationPropertiesIndexGenerator index} of the
+	 * configuration metadata.
+	 */
+	public static final String INDEX_PROPERTY = "io.spring.asciidoctor.springboot.metadata.index";
+
+	/**
+	 * Name of the system property that can be used to specify the number of threads
+	 * used to load the configuration metadata. The metadata is loaded sequentially by
+	 * default. Regardless of the parallelism, properties are merged in classpath order.
+	 */
+	public static final String PARALLELISM_PROPERTY = "io.spring.asciidoctor.springboot.metadata.parallelism";
+
+	private static final Map<ClassLoader, Loaded> cache = new WeakHashMap<>();
+
+	private static final int LOCATIONS_CACHE_SIZE = 16;
+
+	private static final Map<LocationsKey, Loaded> locationsCache = createLocationsCache();
+
+	private final ConfigurationPropertyLookup properties;
+
+	private final int describedCount;
 
 	private ConfigurationProperties(Collection<ConfigurationProperty> properties) {
-		this.properties = properties.stream()
-			.collect(Collectors.toMap(ConfigurationProperty::getName, Function.identity()));
+		ConfigurationPropertyTree tree = new ConfigurationPropertyTree();
+		properties.forEach(tree::add);
+		this.properties = tree;
+		this.describedCount = properties.size();
+	}
+
+	private ConfigurationProperties(ConfigurationPropertyLookup properties) {
+		this.properties = properties;
+		this.describedCount = properties.size();
+	}
+
+	void forEach(Consumer<ConfigurationProperty> action) {
+		this.properties.forEach(action);
 	}
 
 	public int size() {
@@ -54,47 +105,82 @@ public final class ConfigurationProperties {
 	}
 
 	public ConfigurationProperty find(String name) {
-		ConfigurationProperty exactMatch = this.properties.get(name);
-		if (exactMatch != null) {
-			return exactMatch;
+		return this.properties.find(name);
+	}
+
+	/**
+	 * Returns the configuration properties available on the classpath of the given
+	 * {@code classLoader}. The metadata is loaded once and the resulting instance is
+	 * shared by all callers using the same class loader. The class loader is only weakly
+	 * referenced, allowing it to be garbage collected once it is no longer in use. The
+	 * metadata of one class loader is loaded without blocking callers using another.
+	 * @param classLoader the class loader
+	 * @return the configuration properties
+	 */
+	public static ConfigurationProperties get(ClassLoader classLoader) {
+		Loaded loaded;
+		synchronized (cache) {
+			loaded = cache.computeIfAbsent(classLoader, (key) -> new Loaded());
 		}
-		int index = name.lastIndexOf('[');
-		if (index >= 0) {
-			return find(name.substring(0, index));
+		return loaded.get(() -> fromClasspath(classLoader));
+	}
+
+	/**
+	 * Returns the configuration properties loaded from the given comma-separated
+	 * {@code locations}. The metadata is loaded once and the resulting instance is shared
+	 * by all callers using the same locations until the size or last modified time of
+	 * one of the locations changes. The most recently used locations are cached.
+	 * @param locations the locations
+	 * @return the configuration properties
+	 * @see #fromLocations(String)
+	 */
+	public static ConfigurationProperties get(String locations) {
+		return get(LocationsKey.of(locations));
+	}
+
+	static ConfigurationProperties get(LocationsKey key) {
+		Loaded loaded;
+		synchronized (locationsCache) {
+			loaded = locationsCache.computeIfAbsent(key, (locations) -> new Loaded());
 		}
-		return findMapAncestor(name);
+		return loaded.get(() -> fromLocations(key.locations));
 	}
 
-	private ConfigurationProperty findMapAncestor(String name) {
-		int index = name.lastIndexOf('.');
-		if (index > -1) {
-			String parent = name.substring(0, index);
-			ConfigurationProperty parentProperty = this.properties.get(parent);
-			if (parentProperty != null && parentProperty.isMap()) {
-				return parentProperty;
+	private static Map<LocationsKey, Loaded> createLocationsCache() {
+		return new LinkedHashMap<LocationsKey, Loaded>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<LocationsKey, Loaded> eldest) {
+				return size() > LOCATIONS_CACHE_SIZE;
 			}
-			return findMapAncestor(parent);
-		}
-		return null;
+
+		};
 	}
 
-	@SuppressWarnings("unchecked")
 	public static ConfigurationProperties fromClasspath(ClassLoader classLoader) {
-		List<ConfigurationProperty> configurationProperties = new ArrayList<>();
+		String index = System.getProperty(INDEX_PROPERTY);
+		return fromClasspath(classLoader, (index != null) ? Paths.get(index) : null,
+				Integer.getInteger(PARALLELISM_PROPERTY, 1));
+	}
+
+	static ConfigurationProperties fromClasspath(ClassLoader classLoader, Path index, int parallelism) {
+		return recordLoad("classpath", () -> loadFromClasspath(classLoader, index, parallelism));
+	}
+
+	private static ConfigurationProperties loadFromClasspath(ClassLoader classLoader, Path index, int parallelism) {
 		try {
-			Enumeration<URL> resources = classLoader.getResources("META-INF/spring-configuration-metadata.json");
-			Gson gson = new GsonBuilder().create();
-			while (resources.hasMoreElements()) {
-				try (InputStream stream = resources.nextElement().openStream()) {
-					Map<String, Object> json = gson.fromJson(new InputStreamReader(stream), MAP_TYPE);
-					List<Map<String, Object>> properties = (List<Map<String, Object>>) json.get("properties");
-					for (Map<String, Object> property : properties) {
-						String name = (String) property.get("name");
-						configurationProperties.add(new ConfigurationProperty(name, (String) property.get("type"),
-								property.containsKey("deprecation")));
-					}
+			List<URL> resources = Collections.list(classLoader.getResources(METADATA_RESOURCE));
+			if (index != null && Files.isRegularFile(index)) {
+				ConfigurationPropertiesIndex indexed = ConfigurationPropertiesIndex.read(index,
+						ConfigurationPropertiesIndex.checksum(resources));
+				if (indexed != null) {
+					return new ConfigurationProperties(indexed);
 				}
 			}
+			List<ConfigurationProperty> configurationProperties = new ArrayList<>();
+			for (List<ConfigurationProperty> loaded : load(resources, parallelism)) {
+				configurationProperties.addAll(loaded);
+			}
 			return new ConfigurationProperties(configurationProperties);
 		}
 		catch (IOException ex) {
@@ -102,7 +188,289 @@ public final class ConfigurationProperties {
 		}
 	}
 
-	private static final class MapTypeToken extends TypeToken<Map<String, Object>> {
+	private static List<List<ConfigurationProperty>> load(List<URL> resources, int parallelism) throws IOException {
+		if (parallelism <= 1 || resources.size() <= 1) {
+			List<List<ConfigurationProperty>> loaded = new ArrayList<>(resources.size());
+			for (URL resource : resources) {
+				loaded.add(load(resource));
+			}
+			return loaded;
+		}
+		ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, resources.size()));
+		try {
+			List<Callable<List<ConfigurationProperty>>> tasks = new ArrayList<>(resources.size());
+			for (URL resource : resources) {
+				tasks.add(() -> load(resource));
+			}
+			List<List<ConfigurationProperty>> loaded = new ArrayList<>(resources.size());
+			for (Future<List<ConfigurationProperty>> result : pool.invokeAll(tasks)) {
+				loaded.add(result.get());
+			}
+			return loaded;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while loading configuration metadata", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof IOException) {
+				throw (IOException) ex.getCause();
+			}
+			throw new IOException(ex.getCause());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static List<ConfigurationProperty> load(URL resource) throws IOException {
+		List<ConfigurationProperty> properties = new ArrayList<>();
+		try (JsonReader reader = new JsonReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+			readMetadata(reader, properties::add);
+		}
+		return properties;
+	}
+
+	/**
+	 * Loads the configuration properties from the given comma-separated
+	 * {@code locations}, bypassing the classpath. Each location can be a metadata JSON
+	 * file, a directory containing {@code META-INF/spring-configuration-metadata.json}, or
+	 * a jar file containing {@code META-INF/spring-configuration-metadata.json}. Jar files
+	 * are read in place using a zip file system. When a jar or war file is a Spring Boot
+	 * executable archive, the metadata of its classes and of each of its nested jars is
+	 * also loaded. Nested jars are streamed without being extracted.
+	 * @param locations the locations
+	 * @return the configuration properties
+	 */
+	public static ConfigurationProperties fromLocations(String locations) {
+		return recordLoad(locations, () -> loadFromLocations(locations));
+	}
+
+	private static ConfigurationProperties loadFromLocations(String locations) {
+		List<ConfigurationProperty> configurationProperties = new ArrayList<>();
+		try {
+			for (String location : locations.split(",")) {
+				load(Paths.get(location.trim()), configurationProperties::add);
+			}
+			return new ConfigurationProperties(configurationProperties);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException("Failed to load configuration metadata from '" + locations + "'", ex);
+		}
+	}
+
+	private static ConfigurationProperties recordLoad(String source, Supplier<ConfigurationProperties> loader) {
+		MetadataLoadEvent event = new MetadataLoadEvent();
+		event.begin();
+		long start = System.nanoTime();
+		ConfigurationProperties configurationProperties = loader.get();
+		long nanos = System.nanoTime() - start;
+		event.end();
+		if (event.shouldCommit()) {
+			event.source = source;
+			event.propertyCount = configurationProperties.describedCount;
+			event.commit();
+		}
+		SpringBootExtensionMetrics.get().metadataLoaded(nanos, configurationProperties.describedCount);
+		return configurationProperties;
+	}
+
+	private static void load(Path location, Consumer<ConfigurationProperty> action) throws IOException {
+		if (Files.isDirectory(location)) {
+			loadIfPresent(location.resolve(METADATA_RESOURCE), action);
+		}
+		else if (isArchive(location)) {
+			try (FileSystem archive = FileSystems.newFileSystem(location, (ClassLoader) null)) {
+				loadIfPresent(archive.getPath(METADATA_RESOURCE), action);
+				for (String classes : NESTED_CLASSES_LOCATIONS) {
+					loadIfPresent(archive.getPath(classes, METADATA_RESOURCE), action);
+				}
+				for (String lib : NESTED_LIB_LOCATIONS) {
+					loadNested(archive.getPath(lib), action);
+				}
+			}
+		}
+		else {
+			read(location, action);
+		}
+	}
+
+	private static boolean isArchive(Path location) {
+		String name = location.getFileName().toString();
+		return name.endsWith(".jar") || name.endsWith(".war");
+	}
+
+	private static void loadNested(Path lib, Consumer<ConfigurationProperty> action) throws IOException {
+		if (!Files.isDirectory(lib)) {
+			return;
+		}
+		List<Path> jars = new ArrayList<>();
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(lib, "*.jar")) {
+			entries.forEach(jars::add);
+		}
+		Collections.sort(jars);
+		for (Path jar : jars) {
+			try (ZipInputStream nested = new ZipInputStream(Files.newInputStream(jar))) {
+				ZipEntry entry;
+				while ((entry = nested.getNextEntry()) != null) {
+					if (METADATA_RESOURCE.equals(entry.getName())) {
+						readMetadata(new JsonReader(new InputStreamReader(nested, StandardCharsets.UTF_8)), action);
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private static void loadIfPresent(Path metadata, Consumer<ConfigurationProperty> action) throws IOException {
+		if (Files.isRegularFile(metadata)) {
+			read(metadata, action);
+		}
+	}
+
+	private static void read(Path metadata, Consumer<ConfigurationProperty> action) throws IOException {
+		try (JsonReader reader = new JsonReader(Files.newBufferedReader(metadata, StandardCharsets.UTF_8))) {
+			readMetadata(reader, action);
+		}
+	}
+
+	/**
+	 * Reads the properties from the metadata JSON provided by the given {@code reader},
+	 * skipping everything other than each property's name, type, and deprecation.
+	 * @param reader the reader
+	 * @param action the action to perform with each property
+	 * @throws IOException if the metadata cannot be read
+	 */
+	private static void readMetadata(JsonReader reader, Consumer<ConfigurationProperty> action) throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if ("properties".equals(reader.nextName())) {
+				reader.beginArray();
+				while (reader.hasNext()) {
+					ConfigurationProperty property = readProperty(reader);
+					if (property != null) {
+						action.accept(property);
+					}
+				}
+				reader.endArray();
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	private static ConfigurationProperty readProperty(JsonReader reader) throws IOException {
+		String name = null;
+		String type = null;
+		boolean deprecated = false;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "name":
+					name = nextStringOrNull(reader);
+					break;
+				case "type":
+					type = nextStringOrNull(reader);
+					break;
+				case "deprecation":
+					deprecated = true;
+					reader.skipValue();
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return (name != null) ? new ConfigurationProperty(name, type, deprecated) : null;
+	}
+
+	private static String nextStringOrNull(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return reader.nextString();
+	}
+
+	/**
+	 * Configuration properties that are loaded the first time they are needed. Loading
+	 * synchronizes on the holder rather than on the cache that contains it so that only
+	 * callers waiting for the same metadata are blocked. The loader is passed to
+	 * {@link #get(Supplier)} rather than held so that a holder does not prevent its class
+	 * loader from being garbage collected.
+	 */
+	private static final class Loaded {
+
+		private volatile ConfigurationProperties configurationProperties;
+
+		private ConfigurationProperties get(Supplier<ConfigurationProperties> loader) {
+			ConfigurationProperties configurationProperties = this.configurationProperties;
+			if (configurationProperties == null) {
+				synchronized (this) {
+					configurationProperties = this.configurationProperties;
+					if (configurationProperties == null) {
+						configurationProperties = loader.get();
+						this.configurationProperties = configurationProperties;
+					}
+				}
+			}
+			return configurationProperties;
+		}
+
+	}
+
+	/**
+	 * Key identifying comma-separated metadata locations and the size and last modified
+	 * time of the metadata found at each location.
+	 */
+	static final class LocationsKey {
+
+		private final String locations;
+
+		private final long[] stamps;
+
+		private LocationsKey(String locations, long[] stamps) {
+			this.locations = locations;
+			this.stamps = stamps;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			LocationsKey other = (LocationsKey) obj;
+			return this.locations.equals(other.locations) && Arrays.equals(this.stamps, other.stamps);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.locations.hashCode() + Arrays.hashCode(this.stamps);
+		}
+
+		static LocationsKey of(String locations) {
+			String[] paths = locations.split(",");
+			long[] stamps = new long[paths.length * 2];
+			for (int i = 0; i < paths.length; i++) {
+				Path location = Paths.get(paths[i].trim());
+				Path metadata = Files.isDirectory(location) ? location.resolve(METADATA_RESOURCE) : location;
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(metadata, BasicFileAttributes.class);
+					stamps[i * 2] = attributes.size();
+					stamps[i * 2 + 1] = attributes.lastModifiedTime().toMillis();
+				}
+				catch (IOException ex) {
+					stamps[i * 2] = -1;
+					stamps[i * 2 + 1] = -1;
+				}
+			}
+			return new LocationsKey(locations, stamps);
+		}
 
 	}
 
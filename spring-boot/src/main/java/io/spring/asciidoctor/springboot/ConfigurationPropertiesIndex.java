@@ -0,0 +1,343 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary index of {@link ConfigurationProperties}. The index consists of a
+ * header, a table of offsets into a table of UTF-8 encoded names sorted by their bytes,
+ * and a byte of {@link ConfigurationProperty#getFlags() flags} per property. The header
+ * records a checksum of the metadata from which the index was generated so that a stale
+ * index can be detected and ignored.
+ * <p>
+ * A read index is memory-mapped and lookups binary search its table of names. A
+ * {@link ConfigurationProperty} is only created for a property that is returned from a
+ * lookup, leaving the names of the other properties off the heap.
+ *
+ * @author Andy Wilkinson
+ */
+final class ConfigurationPropertiesIndex implements ConfigurationPropertyLookup {
+
+	private static final int MAGIC = 0x53424349;
+
+	private static final int VERSION = 3;
+
+	private static final int HEADER_SIZE = 20;
+
+	private final ByteBuffer buffer;
+
+	private final int count;
+
+	private final int flagsStart;
+
+	private final int namesStart;
+
+	/**
+	 * The properties that have been created, indexed by their position in the table of
+	 * names. Properties are immutable so a property that is created concurrently by more
+	 * than one thread is harmless.
+	 */
+	private final ConfigurationProperty[] properties;
+
+	private ConfigurationPropertiesIndex(ByteBuffer buffer, int count) {
+		this.buffer = buffer;
+		this.count = count;
+		this.flagsStart = HEADER_SIZE + ((count + 1) * 4);
+		this.namesStart = this.flagsStart + count;
+		this.properties = new ConfigurationProperty[count];
+	}
+
+	@Override
+	public ConfigurationProperty find(String name) {
+		int end = name.indexOf('[');
+		byte[] bytes = ((end != -1) ? name.substring(0, end) : name).getBytes(StandardCharsets.UTF_8);
+		int mapAncestor = -1;
+		int start = 0;
+		while (true) {
+			int dot = indexOfDot(bytes, start);
+			int index = search(bytes, (dot != -1) ? dot : bytes.length);
+			if (dot == -1) {
+				return (index >= 0) ? get(index) : (mapAncestor >= 0) ? get(mapAncestor) : null;
+			}
+			if (index >= 0 && (this.buffer.get(this.flagsStart + index) & ConfigurationProperty.MAP) != 0) {
+				mapAncestor = index;
+			}
+			start = dot + 1;
+		}
+	}
+
+	@Override
+	public void forEach(Consumer<ConfigurationProperty> action) {
+		for (int i = 0; i < this.count; i++) {
+			action.accept(get(i));
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.count;
+	}
+
+	/**
+	 * Returns the number of properties that have been created by lookups.
+	 * @return the number of created properties
+	 */
+	int getCreatedCount() {
+		int created = 0;
+		for (ConfigurationProperty property : this.properties) {
+			if (property != null) {
+				created++;
+			}
+		}
+		return created;
+	}
+
+	private ConfigurationProperty get(int index) {
+		ConfigurationProperty property = this.properties[index];
+		if (property == null) {
+			int start = nameStart(index);
+			byte[] name = new byte[nameStart(index + 1) - start];
+			for (int i = 0; i < name.length; i++) {
+				name[i] = this.buffer.get(start + i);
+			}
+			property = new ConfigurationProperty(new String(name, StandardCharsets.UTF_8),
+					this.buffer.get(this.flagsStart + index));
+			this.properties[index] = property;
+		}
+		return property;
+	}
+
+	private int search(byte[] name, int length) {
+		int low = 0;
+		int high = this.count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int comparison = compare(mid, name, length);
+			if (comparison < 0) {
+				low = mid + 1;
+			}
+			else if (comparison > 0) {
+				high = mid - 1;
+			}
+			else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private int compare(int index, byte[] name, int length) {
+		int start = nameStart(index);
+		int nameLength = nameStart(index + 1) - start;
+		int common = Math.min(nameLength, length);
+		for (int i = 0; i < common; i++) {
+			int difference = (this.buffer.get(start + i) & 0xFF) - (name[i] & 0xFF);
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return nameLength - length;
+	}
+
+	private int nameStart(int index) {
+		return this.namesStart + this.buffer.getInt(HEADER_SIZE + (index * 4));
+	}
+
+	private static int indexOfDot(byte[] bytes, int start) {
+		for (int i = start; i < bytes.length; i++) {
+			if (bytes[i] == '.') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Writes an index of the given {@code properties} to the given {@code output}.
+	 * @param properties the properties to index
+	 * @param checksum the checksum of the metadata from which the properties were loaded
+	 * @param output the output to write to
+	 * @throws IOException if the index cannot be written
+	 */
+	static void write(ConfigurationProperties properties, long checksum, OutputStream output) throws IOException {
+		List<byte[]> names = new ArrayList<>(properties.size());
+		Map<byte[], Byte> flags = new IdentityHashMap<>(properties.size());
+		properties.forEach((property) -> {
+			byte[] name = property.getName().getBytes(StandardCharsets.UTF_8);
+			names.add(name);
+			flags.put(name, property.getFlags());
+		});
+		names.sort(ConfigurationPropertiesIndex::compare);
+		DataOutputStream data = new DataOutputStream(output);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeLong(checksum);
+		data.writeInt(names.size());
+		int offset = 0;
+		data.writeInt(offset);
+		for (byte[] name : names) {
+			offset += name.length;
+			data.writeInt(offset);
+		}
+		for (byte[] name : names) {
+			data.writeByte(flags.get(name));
+		}
+		for (byte[] name : names) {
+			data.write(name);
+		}
+		data.flush();
+	}
+
+	private static int compare(byte[] a, byte[] b) {
+		int common = Math.min(a.length, b.length);
+		for (int i = 0; i < common; i++) {
+			int difference = (a[i] & 0xFF) - (b[i] & 0xFF);
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return a.length - b.length;
+	}
+
+	static void write(ConfigurationProperties properties, long checksum, Path path) throws IOException {
+		try (OutputStream output = Files.newOutputStream(path)) {
+			write(properties, checksum, output);
+		}
+	}
+
+	/**
+	 * Reads the index at the given {@code path}, returning {@code null} if it is not a
+	 * valid index or if it was not generated from metadata with the given
+	 * {@code checksum}. The returned index is backed by a read-only mapping of the file.
+	 * @param path the path of the index
+	 * @param checksum the checksum of the current metadata
+	 * @return the index or {@code null}
+	 * @throws IOException if the index cannot be read
+	 */
+	static ConfigurationPropertiesIndex read(Path path, long checksum) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+				return null;
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != checksum) {
+				return null;
+			}
+			int count = buffer.getInt();
+			long namesStart = HEADER_SIZE + ((count + 1L) * 4) + count;
+			if (count < 0 || namesStart > channel.size()) {
+				return null;
+			}
+			if (!hasValidOffsets(buffer, count, channel.size() - namesStart)) {
+				return null;
+			}
+			return new ConfigurationPropertiesIndex(buffer, count);
+		}
+	}
+
+	private static boolean hasValidOffsets(ByteBuffer buffer, int count, long namesLength) {
+		int previous = 0;
+		for (int i = 0; i <= count; i++) {
+			int offset = buffer.getInt(HEADER_SIZE + (i * 4));
+			if (offset < previous || offset > namesLength || (i == 0 && offset != 0)) {
+				return false;
+			}
+			previous = offset;
+		}
+		return true;
+	}
+
+	/**
+	 * Calculates a checksum of the given metadata {@code resources}. The checksum is
+	 * calculated from each resource's URL and, rather than its content, from data that is
+	 * cheap to obtain: the CRC and size of a jar entry or the size and last modified time
+	 * of a file. The content of a resource is only read when neither is available.
+	 * @param resources the metadata resources
+	 * @return the checksum
+	 * @throws IOException if a resource cannot be read
+	 */
+	static long checksum(List<URL> resources) throws IOException {
+		CRC32 crc = new CRC32();
+		for (URL resource : resources) {
+			crc.update(resource.toExternalForm().getBytes(StandardCharsets.UTF_8));
+			URLConnection connection = resource.openConnection();
+			if (connection instanceof JarURLConnection) {
+				JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+				update(crc, entry.getCrc());
+				update(crc, entry.getSize());
+			}
+			else if ("file".equals(resource.getProtocol())) {
+				Path file = toPath(resource);
+				update(crc, Files.size(file));
+				update(crc, Files.getLastModifiedTime(file).toMillis());
+			}
+			else {
+				updateWithContent(crc, connection);
+			}
+		}
+		return crc.getValue();
+	}
+
+	private static Path toPath(URL resource) throws IOException {
+		try {
+			return Paths.get(resource.toURI());
+		}
+		catch (URISyntaxException ex) {
+			throw new IOException("Invalid file URL '" + resource + "'", ex);
+		}
+	}
+
+	private static void update(CRC32 crc, long value) {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			crc.update((int) (value >>> shift));
+		}
+	}
+
+	private static void updateWithContent(CRC32 crc, URLConnection connection) throws IOException {
+		byte[] buffer = new byte[8192];
+		try (InputStream stream = connection.getInputStream()) {
+			int read;
+			while ((read = stream.read(buffer)) != -1) {
+				crc.update(buffer, 0, read);
+			}
+		}
+	}
+
+}
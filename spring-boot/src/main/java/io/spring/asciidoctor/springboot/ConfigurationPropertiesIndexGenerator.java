@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates an index of the configuration metadata available on the classpath. The
+ * generated index can be used in place of the metadata by setting the
+ * {@value ConfigurationProperties#INDEX_PROPERTY} system property to its location. The
+ * index is ignored if the metadata on the classpath has changed since it was generated.
+ *
+ * @author Andy Wilkinson
+ */
+public final class ConfigurationPropertiesIndexGenerator {
+
+	private ConfigurationPropertiesIndexGenerator() {
+
+	}
+
+	/**
+	 * Generates an index of the configuration metadata available from the given
+	 * {@code classLoader}.
+	 * @param classLoader the class loader
+	 * @param index the path of the index to generate
+	 * @throws IOException if the index cannot be generated
+	 */
+	public static void generate(ClassLoader classLoader, Path index) throws IOException {
+		List<URL> resources = Collections.list(classLoader.getResources(ConfigurationProperties.METADATA_RESOURCE));
+		ConfigurationPropertiesIndex.write(ConfigurationProperties.fromClasspath(classLoader, null, 1),
+				ConfigurationPropertiesIndex.checksum(resources), index);
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			throw new IllegalArgumentException("Usage: ConfigurationPropertiesIndexGenerator <index>");
+		}
+		generate(ConfigurationPropertiesIndexGenerator.class.getClassLoader(), Paths.get(args[0]));
+	}
+
+}
@@ -16,58 +16,73 @@
 
 package io.spring.asciidoctor.springboot;
 
+import java.util.Collections;
 import java.util.List;
 
-import org.asciidoctor.ast.DescriptionListEntry;
 import org.asciidoctor.ast.Document;
 import org.asciidoctor.ast.StructuralNode;
 import org.asciidoctor.extension.Treeprocessor;
 
 /**
  * {@link Treeprocessor} that validates configuration properties found in structural nodes
- * with the {@code configprops} attribute.
+ * with the {@code configprops} attribute. Its {@link #visitor() visitor} can also be used
+ * as part of a walk that serves multiple visitors.
  *
  * @author Andy Wilkinson
  */
 class ConfigurationPropertiesTreeprocessor extends Treeprocessor {
 
-	private final ConfigurationPropertyValidator validator;
+	private final BufferingLogger logger;
 
-	ConfigurationPropertiesTreeprocessor(Logger logger) {
-		this.validator = new ConfigurationPropertyValidator(logger);
+	private final DocumentValidators validators;
+
+	private final Visitor visitor = new Visitor();
+
+	ConfigurationPropertiesTreeprocessor(BufferingLogger logger) {
+		this(logger, new DocumentValidators(new ConfigurationPropertyValidator(logger)));
+	}
+
+	ConfigurationPropertiesTreeprocessor(BufferingLogger logger, DocumentValidators validators) {
+		this.logger = logger;
+		this.validators = validators;
 	}
 
 	@Override
 	public Document process(Document document) {
-		process((StructuralNode) document);
+		TreeWalker.walk(getClass().getSimpleName(), document, Collections.singletonList(this.visitor));
 		return document;
 	}
 
-	private void process(StructuralNode structuralNode) {
-		if (hasConfigpropsAttribute(structuralNode)) {
-			this.validator.validateProperties(structuralNode.getContent(),
-					(String) structuralNode.getAttribute("language"));
+	/**
+	 * Returns the {@link TreeVisitor} that performs this processor's validation.
+	 * @return the visitor
+	 */
+	TreeVisitor<?> visitor() {
+		return this.visitor;
+	}
+
+	private final class Visitor implements TreeVisitor<ConfigurationPropertyValidator> {
+
+		@Override
+		public ConfigurationPropertyValidator start(Document document) {
+			ConfigurationPropertiesTreeprocessor.this.logger.start();
+			return ConfigurationPropertiesTreeprocessor.this.validators.get(document);
 		}
-		List<StructuralNode> children = getChildren(structuralNode);
-		if (children != null) {
-			for (StructuralNode child : children) {
-				process(child);
+
+		@Override
+		public List<StructuralNode> visit(StructuralNode node, NodeAttributes attributes,
+				ConfigurationPropertyValidator validator) {
+			if (attributes.hasPositional("configprops")) {
+				validator.validateProperties(node.getContent(), (String) attributes.get("language"));
 			}
+			return null;
 		}
-	}
 
-	private boolean hasConfigpropsAttribute(StructuralNode structuralNode) {
-		if (structuralNode instanceof DescriptionListEntry) {
-			return false;
+		@Override
+		public void end(Document document, ConfigurationPropertyValidator validator) {
+			ConfigurationPropertiesTreeprocessor.this.logger.flush();
 		}
-		return structuralNode.getAttributes().containsValue("configprops");
-	}
 
-	private List<StructuralNode> getChildren(StructuralNode structuralNode) {
-		if (structuralNode instanceof DescriptionListEntry) {
-			return ((DescriptionListEntry) structuralNode).getDescription().getBlocks();
-		}
-		return structuralNode.getBlocks();
 	}
 
 }
@@ -17,34 +17,95 @@
 package io.spring.asciidoctor.springboot;
 
 /**
- * A Spring Boot configuration property.
+ * A Spring Boot configuration property. To keep the memory footprint of large amounts of
+ * metadata low, a property's name is held as an array of interned segments that are
+ * shared with every other property with the same segment, and its type is reduced to
+ * flags when the property is created.
  *
  * @author Andy Wilkinson
  */
 public class ConfigurationProperty {
 
-	private final String name;
+	static final byte MAP = 0x01;
 
-	private final String type;
+	static final byte DEPRECATED = 0x02;
 
-	private final boolean deprecated;
+	static final byte COLLECTION = 0x04;
+
+	private final String[] segments;
+
+	private final byte flags;
 
 	ConfigurationProperty(String name, String type, boolean deprecated) {
-		this.name = name;
-		this.type = type;
-		this.deprecated = deprecated;
+		this(name, (byte) (typeFlags(type) | (deprecated ? DEPRECATED : 0)));
+	}
+
+	ConfigurationProperty(String name, byte flags) {
+		this.segments = segments(name);
+		this.flags = flags;
 	}
 
 	String getName() {
-		return this.name;
+		StringBuilder name = new StringBuilder();
+		for (String segment : this.segments) {
+			if (name.length() > 0) {
+				name.append('.');
+			}
+			name.append(segment);
+		}
+		return name.toString();
+	}
+
+	String[] getSegments() {
+		return this.segments;
+	}
+
+	byte getFlags() {
+		return this.flags;
 	}
 
 	public boolean isDeprecated() {
-		return this.deprecated;
+		return (this.flags & DEPRECATED) != 0;
 	}
 
 	boolean isMap() {
-		return this.type != null && this.type.startsWith("java.util.Map<");
+		return (this.flags & MAP) != 0;
+	}
+
+	boolean isCollection() {
+		return (this.flags & COLLECTION) != 0;
+	}
+
+	private static byte typeFlags(String type) {
+		if (type == null) {
+			return 0;
+		}
+		if (type.startsWith("java.util.Map<")) {
+			return MAP;
+		}
+		if (type.startsWith("java.util.List<") || type.startsWith("java.util.Set<")
+				|| type.startsWith("java.util.Collection<") || type.endsWith("[]")) {
+			return COLLECTION;
+		}
+		return 0;
+	}
+
+	private static String[] segments(String name) {
+		int count = 1;
+		for (int i = 0; i < name.length(); i++) {
+			if (name.charAt(i) == '.') {
+				count++;
+			}
+		}
+		String[] segments = new String[count];
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			int end = name.indexOf('.', start);
+			end = (end != -1) ? end : name.length();
+			segments[i] = name.substring(start, end).intern();
+			start = end + 1;
+		}
+		return segments;
 	}
 
 }
@@ -30,18 +30,23 @@ import org.asciidoctor.extension.InlineMacroProcessor;
  */
 class ConfigurationPropertyInlineMacroProcessor extends InlineMacroProcessor {
 
-	private final ConfigurationPropertyValidator validator;
+	private final DocumentValidators validators;
 
 	ConfigurationPropertyInlineMacroProcessor(Logger logger) {
+		this(new DocumentValidators(new ConfigurationPropertyValidator(logger)));
+	}
+
+	ConfigurationPropertyInlineMacroProcessor(DocumentValidators validators) {
 		super("configprop");
-		this.validator = new ConfigurationPropertyValidator(logger);
+		this.validators = validators;
 	}
 
 	@Override
 	public Object process(ContentNode parent, String propertyName, Map<String, Object> attributes) {
 		Map<String, Object> options = new HashMap<>();
 		options.put("type", ":monospaced");
-		String validated = this.validator.validateProperty(propertyName,
+		ConfigurationPropertyValidator validator = this.validators.get(parent.getDocument());
+		String validated = validator.validateProperty(propertyName,
 				getSettings(AttributesNormalizer.normalize(attributes)));
 		return createPhraseNode(parent, "quoted", validated, attributes, options);
 	}
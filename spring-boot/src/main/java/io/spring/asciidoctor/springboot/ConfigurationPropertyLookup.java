@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.function.Consumer;
+
+/**
+ * Lookup of {@link ConfigurationProperty configuration properties} by name.
+ *
+ * @author Andy Wilkinson
+ */
+interface ConfigurationPropertyLookup {
+
+	/**
+	 * Finds the property with the given {@code name}. Any {@code [index]} suffix is
+	 * ignored. If there is no property with the name, the closest ancestor that is a map
+	 * is returned.
+	 * @param name the name of the property
+	 * @return the property or {@code null}
+	 */
+	ConfigurationProperty find(String name);
+
+	/**
+	 * Performs the given {@code action} for each property.
+	 * @param action the action
+	 */
+	void forEach(Consumer<ConfigurationProperty> action);
+
+	/**
+	 * Returns the number of properties.
+	 * @return the number of properties
+	 */
+	int size();
+
+}
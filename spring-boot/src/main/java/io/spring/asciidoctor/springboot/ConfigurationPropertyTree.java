@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A tree of {@link ConfigurationProperty configuration properties} with a node for each
+ * {@code .} separated segment of their names. Lookups walk the characters of the name
+ * once without creating intermediate strings.
+ *
+ * @author Andy Wilkinson
+ */
+final class ConfigurationPropertyTree implements ConfigurationPropertyLookup {
+
+	private static final String[] NO_SEGMENTS = {};
+
+	private static final Node[] NO_CHILDREN = {};
+
+	private final Node root = new Node();
+
+	private int size;
+
+	/**
+	 * Adds the given {@code property} to the tree. Has no effect if a property with the
+	 * same name has already been added.
+	 * @param property the property to add
+	 * @return {@code true} if the property was added, otherwise {@code false}
+	 */
+	boolean add(ConfigurationProperty property) {
+		Node node = this.root;
+		for (String segment : property.getSegments()) {
+			node = node.getOrAddChild(segment);
+		}
+		if (node.property != null) {
+			return false;
+		}
+		node.property = property;
+		this.size++;
+		return true;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public void forEach(Consumer<ConfigurationProperty> action) {
+		this.root.forEach(action);
+	}
+
+	@Override
+	public ConfigurationProperty find(String name) {
+		int end = name.indexOf('[');
+		end = (end != -1) ? end : name.length();
+		ConfigurationProperty mapAncestor = null;
+		Node node = this.root;
+		int start = 0;
+		while (true) {
+			int dot = name.indexOf('.', start);
+			boolean last = dot == -1 || dot > end;
+			node = node.getChild(name, start, last ? end : dot);
+			if (node == null) {
+				return mapAncestor;
+			}
+			if (last) {
+				return (node.property != null) ? node.property : mapAncestor;
+			}
+			if (node.property != null && node.property.isMap()) {
+				mapAncestor = node.property;
+			}
+			start = dot + 1;
+		}
+	}
+
+	private static int compare(String segment, String name, int start, int end) {
+		int length = Math.min(segment.length(), end - start);
+		for (int i = 0; i < length; i++) {
+			int difference = segment.charAt(i) - name.charAt(start + i);
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return segment.length() - (end - start);
+	}
+
+	private static final class Node {
+
+		private String[] segments = NO_SEGMENTS;
+
+		private Node[] children = NO_CHILDREN;
+
+		private ConfigurationProperty property;
+
+		private Node getChild(String name, int start, int end) {
+			int index = indexOf(name, start, end);
+			return (index >= 0) ? this.children[index] : null;
+		}
+
+		private Node getOrAddChild(String segment) {
+			int index = indexOf(segment, 0, segment.length());
+			if (index >= 0) {
+				return this.children[index];
+			}
+			int insertion = -(index + 1);
+			Node child = new Node();
+			this.segments = insert(this.segments, insertion, segment);
+			this.children = insert(this.children, insertion, child);
+			return child;
+		}
+
+		private int indexOf(String name, int start, int end) {
+			int low = 0;
+			int high = this.segments.length - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int comparison = compare(this.segments[mid], name, start, end);
+				if (comparison < 0) {
+					low = mid + 1;
+				}
+				else if (comparison > 0) {
+					high = mid - 1;
+				}
+				else {
+					return mid;
+				}
+			}
+			return -(low + 1);
+		}
+
+		private void forEach(Consumer<ConfigurationProperty> action) {
+			if (this.property != null) {
+				action.accept(this.property);
+			}
+			for (Node child : this.children) {
+				child.forEach(action);
+			}
+		}
+
+		private static <T> T[] insert(T[] source, int index, T element) {
+			T[] result = Arrays.copyOf(source, source.length + 1);
+			System.arraycopy(source, index, result, index + 1, source.length - index);
+			result[index] = element;
+			return result;
+		}
+
+	}
+
+}
@@ -18,8 +18,19 @@ package io.spring.asciidoctor.springboot;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.SortedSet;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import io.spring.asciidoctor.springboot.YamlToPropertiesConverter.Document;
 
@@ -31,32 +42,187 @@ import io.spring.asciidoctor.springboot.YamlToPropertiesConverter.Document;
  */
 public class ConfigurationPropertyValidator {
 
-	private final ConfigurationProperties configurationProperties;
+	/**
+	 * Name of the document attribute that can be used to specify the comma-separated
+	 * locations from which configuration metadata should be loaded in place of the
+	 * metadata on the classpath.
+	 * @see ConfigurationProperties#fromLocations(String)
+	 */
+	public static final String METADATA_LOCATION_ATTRIBUTE = "spring-boot-metadata-location";
+
+	/**
+	 * Name of the system property that can be used to configure the maximum number of
+	 * validation results that are cached.
+	 */
+	public static final String CACHE_SIZE_PROPERTY = "io.spring.asciidoctor.springboot.validation.cache-size";
+
+	private static final int DEFAULT_CACHE_SIZE = 4096;
+
+	private static final YamlToPropertiesConverter YAML_CONVERTER = new YamlToPropertiesConverter();
+
+	private final Supplier<ConfigurationProperties> configurationPropertiesSupplier;
+
+	private volatile ConfigurationProperties configurationProperties;
 
 	private final Logger logger;
 
+	private final Map<String, MetadataLocationValidator> metadataLocationValidators = new ConcurrentHashMap<>();
+
+	private final ResultCache results;
+
 	public ConfigurationPropertyValidator(Logger logger) {
-		this(logger, ConfigurationProperties.fromClasspath(ConfigurationPropertyValidator.class.getClassLoader()));
+		this(logger, () -> ConfigurationProperties.get(ConfigurationPropertyValidator.class.getClassLoader()));
 	}
 
 	ConfigurationPropertyValidator(Logger logger, ConfigurationProperties configurationProperties) {
+		this(logger, () -> configurationProperties);
+	}
+
+	/**
+	 * Creates a new validator that will use the given {@code logger} and that will use
+	 * the given {@code configurationPropertiesSupplier} to load the configuration
+	 * properties the first time that they are needed.
+	 * @param logger the logger
+	 * @param configurationPropertiesSupplier supplier of the configuration properties
+	 */
+	ConfigurationPropertyValidator(Logger logger, Supplier<ConfigurationProperties> configurationPropertiesSupplier) {
+		this(logger, configurationPropertiesSupplier, Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE));
+	}
+
+	/**
+	 * Creates a new validator that will use the given {@code logger}, that will use the
+	 * given {@code configurationPropertiesSupplier} to load the configuration properties
+	 * the first time that they are needed, and that will cache up to {@code cacheSize}
+	 * validation results.
+	 * @param logger the logger
+	 * @param configurationPropertiesSupplier supplier of the configuration properties
+	 * @param cacheSize the maximum number of validation results to cache
+	 */
+	ConfigurationPropertyValidator(Logger logger, Supplier<ConfigurationProperties> configurationPropertiesSupplier,
+			int cacheSize) {
 		this.logger = logger;
-		this.configurationProperties = configurationProperties;
+		this.configurationPropertiesSupplier = configurationPropertiesSupplier;
+		this.results = new ResultCache(cacheSize);
+	}
+
+	/**
+	 * Returns a validator that validates properties against the metadata loaded from the
+	 * given comma-separated {@code metadataLocation}, or this validator if the location
+	 * is {@code null} or empty.
+	 * @param metadataLocation the location of the metadata or {@code null}
+	 * @return the validator
+	 */
+	public ConfigurationPropertyValidator withMetadataLocation(String metadataLocation) {
+		if (metadataLocation == null || metadataLocation.trim().isEmpty()) {
+			return this;
+		}
+		ConfigurationProperties.LocationsKey key = ConfigurationProperties.LocationsKey.of(metadataLocation);
+		return this.metadataLocationValidators.compute(metadataLocation,
+				(location, existing) -> (existing != null && existing.key.equals(key)) ? existing
+						: new MetadataLocationValidator(key, new ConfigurationPropertyValidator(this.logger,
+								() -> ConfigurationProperties.get(key), this.results.maxSize)))
+			.validator;
+	}
+
+	/**
+	 * Returns a validator that validates properties against the metadata loaded from the
+	 * given comma-separated {@code metadataLocation}, or this validator if the location
+	 * is {@code null} or empty. Relative locations are resolved against the given
+	 * {@code baseDirectory}.
+	 * @param metadataLocation the location of the metadata or {@code null}
+	 * @param baseDirectory the directory against which relative locations are resolved
+	 * or {@code null} to resolve them against the current working directory
+	 * @return the validator
+	 */
+	public ConfigurationPropertyValidator withMetadataLocation(String metadataLocation, String baseDirectory) {
+		if (metadataLocation == null || baseDirectory == null || baseDirectory.isEmpty()) {
+			return withMetadataLocation(metadataLocation);
+		}
+		StringJoiner resolved = new StringJoiner(",");
+		Path base = Paths.get(baseDirectory);
+		for (String location : metadataLocation.split(",")) {
+			if (!location.trim().isEmpty()) {
+				resolved.add(base.resolve(location.trim()).normalize().toString());
+			}
+		}
+		return withMetadataLocation(resolved.toString());
+	}
+
+	/**
+	 * Returns the number of validations that have been answered from the cache of
+	 * validation results.
+	 * @return the number of cache hits
+	 */
+	long getCacheHits() {
+		return this.results.hits;
+	}
+
+	/**
+	 * Returns the number of validations that could not be answered from the cache of
+	 * validation results.
+	 * @return the number of cache misses
+	 */
+	long getCacheMisses() {
+		return this.results.misses;
 	}
 
 	public String validateProperty(String propertyName, ValidationSettings settings) {
 		Result result = doValidateProperty(propertyName, settings);
 		if (result.getOutcome() == Outcome.VALIDATED) {
-			this.logger.debug(result.getMessage());
+			this.logger.debug(result::getMessage);
 		}
 		else {
 			this.logger.warn(result.getMessage());
 		}
-		return result.getPropertyName();
+		return result.getFormattedName();
+	}
+
+	/**
+	 * Validates the properties with the given {@code propertyNames} using the given
+	 * {@code settings}. Nothing is logged. The names are sorted and duplicates are
+	 * removed before they are validated.
+	 * @param propertyNames the names of the properties to validate
+	 * @param settings the validation settings
+	 * @return a report of the outcome of validating each property
+	 */
+	public ValidationReport validate(Collection<String> propertyNames, ValidationSettings settings) {
+		SortedSet<String> sortedNames = new TreeSet<>(propertyNames);
+		List<ValidationReport.Entry> entries = new ArrayList<>(sortedNames.size());
+		for (String propertyName : sortedNames) {
+			Result result = doValidateProperty(propertyName, settings);
+			entries.add(new ValidationReport.Entry(propertyName, result.getCanonicalName(), result.getFormattedName(),
+					result.getOutcome(), result::getMessage));
+		}
+		return new ValidationReport(entries);
+	}
+
+	/**
+	 * Validates the properties in the given {@code content} using the
+	 * {@link ValidationSettings#DEFAULT default settings}. Nothing is logged.
+	 * @param content the content, in {@code .properties} or YAML format
+	 * @param language the language of the content, {@code yaml} for YAML and anything
+	 * else for {@code .properties}
+	 * @return a report of the outcome of validating each property in the content
+	 * @throws IOException if the content cannot be parsed
+	 */
+	public ValidationReport validate(String content, String language) throws IOException {
+		return validate(loadProperties(content, language).stringPropertyNames(), ValidationSettings.DEFAULT);
 	}
 
 	private Result doValidateProperty(String propertyName, ValidationSettings settings) {
-		ConfigurationProperty property = this.configurationProperties.find(propertyName);
+		ResultKey key = new ResultKey(propertyName, settings);
+		Result result = this.results.get(key);
+		boolean cached = result != null;
+		if (!cached) {
+			result = createResult(propertyName, settings);
+			this.results.put(key, result);
+		}
+		SpringBootExtensionMetrics.get().propertyValidated(result.getOutcome(), cached);
+		return result;
+	}
+
+	private Result createResult(String propertyName, ValidationSettings settings) {
+		ConfigurationProperty property = getConfigurationProperties().find(propertyName);
 		Outcome outcome = null;
 		if (property == null) {
 			outcome = Outcome.NOT_FOUND;
@@ -73,9 +239,34 @@ public class ConfigurationPropertyValidator {
 				outcome = Outcome.VALIDATED;
 			}
 		}
-		return new Result(
-				settings.getFormat().apply((property != null && !property.isMap()) ? property.getName() : propertyName),
-				outcome.formatMessage(propertyName), outcome);
+		String canonicalName = (property != null && !property.isMap()) ? withoutIndex(propertyName) : propertyName;
+		return new Result(propertyName, canonicalName, settings.getFormat().apply(canonicalName), outcome);
+	}
+
+	/**
+	 * Returns the given {@code propertyName} without any index suffix. A property that is
+	 * found and that is not a map has exactly this name so it is used rather than
+	 * {@link ConfigurationProperty#getName()}, which joins the property's segments.
+	 * @param propertyName the property name
+	 * @return the name without any index suffix
+	 */
+	private static String withoutIndex(String propertyName) {
+		int index = propertyName.indexOf('[');
+		return (index != -1) ? propertyName.substring(0, index) : propertyName;
+	}
+
+	private ConfigurationProperties getConfigurationProperties() {
+		ConfigurationProperties configurationProperties = this.configurationProperties;
+		if (configurationProperties == null) {
+			synchronized (this) {
+				configurationProperties = this.configurationProperties;
+				if (configurationProperties == null) {
+					configurationProperties = this.configurationPropertiesSupplier.get();
+					this.configurationProperties = configurationProperties;
+				}
+			}
+		}
+		return configurationProperties;
 	}
 
 	public void validateProperties(Object content, String language) {
@@ -83,14 +274,13 @@ public class ConfigurationPropertyValidator {
 			return;
 		}
 		try {
-			Properties properties = loadProperties((String) content, language);
-			for (String propertyName : properties.stringPropertyNames()) {
-				Result result = doValidateProperty(propertyName, ValidationSettings.DEFAULT);
-				if (result.getOutcome() != Outcome.NOT_FOUND) {
-					this.logger.debug(result.getMessage());
+			ValidationReport report = validate((String) content, language);
+			for (ValidationReport.Entry entry : report.getEntries()) {
+				if (entry.getOutcome() != Outcome.NOT_FOUND) {
+					this.logger.debug(entry::getMessage);
 				}
 				else {
-					this.logger.warn(result.getMessage());
+					this.logger.warn(entry.getMessage());
 				}
 			}
 		}
@@ -102,7 +292,7 @@ public class ConfigurationPropertyValidator {
 	private Properties loadProperties(String content, String language) throws IOException {
 		Properties properties = new Properties();
 		if ("yaml".equalsIgnoreCase(language)) {
-			List<Document> documents = new YamlToPropertiesConverter().convertContent(content);
+			List<Document> documents = YAML_CONVERTER.convertContent(content);
 			for (Document document : documents) {
 				document.forEach(properties::put);
 			}
@@ -113,7 +303,10 @@ public class ConfigurationPropertyValidator {
 		return properties;
 	}
 
-	private enum Outcome {
+	/**
+	 * The outcome of validating a configuration property.
+	 */
+	public enum Outcome {
 
 		/**
 		 * Configuration property was successfully validated.
@@ -141,28 +334,137 @@ public class ConfigurationPropertyValidator {
 			this.messageFormat = messageFormat;
 		}
 
-		private String formatMessage(String propertyName) {
+		String formatMessage(String propertyName) {
 			return String.format(this.messageFormat, propertyName);
 		}
 
 	}
 
+	private static final class ResultKey {
+
+		private final String propertyName;
+
+		private final boolean deprecated;
+
+		private final ValidationSettings.Format format;
+
+		private ResultKey(String propertyName, ValidationSettings settings) {
+			this.propertyName = propertyName;
+			this.deprecated = settings.isDeprecated();
+			this.format = settings.getFormat();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			ResultKey other = (ResultKey) obj;
+			return this.deprecated == other.deprecated && this.format == other.format
+					&& this.propertyName.equals(other.propertyName);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.propertyName.hashCode();
+			result = 31 * result + Boolean.hashCode(this.deprecated);
+			result = 31 * result + this.format.hashCode();
+			return result;
+		}
+
+	}
+
+	/**
+	 * A validator for the metadata at particular locations and the key of the locations
+	 * when the validator was created.
+	 */
+	private static final class MetadataLocationValidator {
+
+		private final ConfigurationProperties.LocationsKey key;
+
+		private final ConfigurationPropertyValidator validator;
+
+		private MetadataLocationValidator(ConfigurationProperties.LocationsKey key,
+				ConfigurationPropertyValidator validator) {
+			this.key = key;
+			this.validator = validator;
+		}
+
+	}
+
+	/**
+	 * A least-recently-used cache of validation results that holds at most
+	 * {@code maxSize} results.
+	 */
+	private static final class ResultCache {
+
+		private final int maxSize;
+
+		private final Map<ResultKey, Result> results;
+
+		private volatile long hits;
+
+		private volatile long misses;
+
+		private ResultCache(int maxSize) {
+			this.maxSize = maxSize;
+			this.results = new LinkedHashMap<ResultKey, Result>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ResultKey, Result> eldest) {
+					return size() > ResultCache.this.maxSize;
+				}
+
+			};
+		}
+
+		private synchronized Result get(ResultKey key) {
+			Result result = this.results.get(key);
+			if (result != null) {
+				this.hits++;
+			}
+			else {
+				this.misses++;
+			}
+			return result;
+		}
+
+		private synchronized void put(ResultKey key, Result result) {
+			if (this.maxSize > 0) {
+				this.results.put(key, result);
+			}
+		}
+
+	}
+
 	private static final class Result {
 
 		private final String propertyName;
 
+		private final String canonicalName;
+
+		private final String formattedName;
+
 		private final Outcome outcome;
 
-		private final String message;
+		private String message;
 
-		private Result(String propertyName, String message, Outcome outcome) {
+		private Result(String propertyName, String canonicalName, String formattedName, Outcome outcome) {
 			this.propertyName = propertyName;
-			this.message = message;
+			this.canonicalName = canonicalName;
+			this.formattedName = formattedName;
 			this.outcome = outcome;
 		}
 
-		private String getPropertyName() {
-			return this.propertyName;
+		private String getCanonicalName() {
+			return this.canonicalName;
+		}
+
+		private String getFormattedName() {
+			return this.formattedName;
 		}
 
 		private Outcome getOutcome() {
@@ -170,7 +472,12 @@ public class ConfigurationPropertyValidator {
 		}
 
 		private String getMessage() {
-			return this.message;
+			String message = this.message;
+			if (message == null) {
+				message = this.outcome.formatMessage(this.propertyName);
+				this.message = message;
+			}
+			return message;
 		}
 
 	}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.lang.ref.WeakReference;
+
+import org.asciidoctor.ast.Document;
+
+/**
+ * Provides the {@link ConfigurationPropertyValidator} for a document, resolving it from
+ * the document's {@link ConfigurationPropertyValidator#METADATA_LOCATION_ATTRIBUTE
+ * metadata location} and {@code docdir} attributes once per document. The validator
+ * that was last resolved on each thread is reused until a different document is
+ * processed, so the metadata is only checked for changes once per document rather than
+ * each time a property is validated.
+ *
+ * @author Andy Wilkinson
+ */
+final class DocumentValidators {
+
+	private final ConfigurationPropertyValidator validator;
+
+	private final ThreadLocal<Resolved> resolved = new ThreadLocal<>();
+
+	DocumentValidators(ConfigurationPropertyValidator validator) {
+		this.validator = validator;
+	}
+
+	/**
+	 * Returns the validator for the given {@code document}.
+	 * @param document the document
+	 * @return the validator
+	 */
+	ConfigurationPropertyValidator get(Document document) {
+		Resolved resolved = this.resolved.get();
+		if (resolved != null && resolved.document.get() == document) {
+			return resolved.validator;
+		}
+		ConfigurationPropertyValidator validator = this.validator.withMetadataLocation(
+				(String) document.getAttribute(ConfigurationPropertyValidator.METADATA_LOCATION_ATTRIBUTE),
+				(String) document.getAttribute("docdir"));
+		this.resolved.set(new Resolved(document, validator));
+		return validator;
+	}
+
+	/**
+	 * A validator and the document for which it was resolved.
+	 */
+	private static final class Resolved {
+
+		private final WeakReference<Document> document;
+
+		private final ConfigurationPropertyValidator validator;
+
+		private Resolved(Document document, ConfigurationPropertyValidator validator) {
+			this.document = new WeakReference<>(document);
+			this.validator = validator;
+		}
+
+	}
+
+}
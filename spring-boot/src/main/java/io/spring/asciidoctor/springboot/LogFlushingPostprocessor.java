@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.extension.Postprocessor;
+
+/**
+ * {@link Postprocessor} that flushes the messages logged while a document was converted.
+ * When the document has the {@value #SUMMARY_ATTRIBUTE} attribute, a summary of the
+ * warnings is also logged.
+ *
+ * @author Andy Wilkinson
+ */
+class LogFlushingPostprocessor extends Postprocessor {
+
+	/**
+	 * Name of the document attribute that enables the logging of a one-line summary of
+	 * the validation warnings once the document has been converted.
+	 */
+	static final String SUMMARY_ATTRIBUTE = "spring-boot-validation-summary";
+
+	private final BufferingLogger logger;
+
+	LogFlushingPostprocessor(BufferingLogger logger) {
+		this.logger = logger;
+	}
+
+	@Override
+	public String process(Document document, String output) {
+		this.logger.complete(document.hasAttribute(SUMMARY_ATTRIBUTE));
+		return output;
+	}
+
+}
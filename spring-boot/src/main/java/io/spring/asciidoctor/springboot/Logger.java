@@ -16,6 +16,8 @@
 
 package io.spring.asciidoctor.springboot;
 
+import java.util.function.Supplier;
+
 /**
  * Minimal logger that avoids a dependency on AsciidoctorJ's {@code LogHandler} and
  * {@code LogRecord}.
@@ -28,4 +30,24 @@ public interface Logger {
 
 	void debug(String message);
 
+	/**
+	 * Returns whether debug messages are logged. When they are not, callers can avoid
+	 * creating debug messages.
+	 * @return {@code true} if debug messages are logged, otherwise {@code false}
+	 */
+	default boolean isDebugEnabled() {
+		return true;
+	}
+
+	/**
+	 * Logs the message provided by the given {@code message} supplier at debug level. The
+	 * supplier is only called if {@link #isDebugEnabled() debug is enabled}.
+	 * @param message supplier of the message
+	 */
+	default void debug(Supplier<String> message) {
+		if (isDebugEnabled()) {
+			debug(message.get());
+		}
+	}
+
 }
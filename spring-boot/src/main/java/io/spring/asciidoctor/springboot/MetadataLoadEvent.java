@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+/**
+ * Event recorded when configuration metadata is loaded. This implementation does nothing.
+ * On Java 11 and later it is replaced by a Java Flight Recorder event.
+ *
+ * @author Andy Wilkinson
+ */
+class MetadataLoadEvent {
+
+	String source;
+
+	int propertyCount;
+
+	void begin() {
+	}
+
+	void end() {
+	}
+
+	boolean shouldCommit() {
+		return false;
+	}
+
+	void commit() {
+	}
+
+}
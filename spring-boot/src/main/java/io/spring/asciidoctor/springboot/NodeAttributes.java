@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.asciidoctor.ast.DescriptionListEntry;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+
+/**
+ * Access to the attributes of a node that avoids converting all of them into Java. The
+ * map returned by AsciidoctorJ from {@link StructuralNode#getAttributes()} is backed by
+ * the node's Ruby attributes and individual lookups are cheap. However, operations such
+ * as {@link Map#containsValue(Object)} convert every attribute, which is costly for nodes
+ * like the document that have many attributes. Positional attributes are therefore found
+ * by looking them up by index. Named attributes also take up an index, as
+ * {@code indent=0} does in {@code [source,yaml,indent=0,configprops]}, so there may be
+ * gaps between the indexes of positional attributes. Apart from the style, which may be
+ * empty as in {@code [,yaml]}, every index takes up at least one attribute so the
+ * indexes are probed up to one more than the number of attributes, bounded by
+ * {@link #MAX_INDEX}. The document, whose attributes are not from an attribute list and
+ * are often numerous, has no positional attributes.
+ *
+ * @author Andy Wilkinson
+ */
+final class NodeAttributes {
+
+	/**
+	 * The highest index that is probed for a positional attribute. An attribute list with
+	 * more entries than this is not expected.
+	 */
+	static final int MAX_INDEX = 32;
+
+	private static final NodeAttributes NONE = new NodeAttributes(Collections.emptyMap());
+
+	private final Map<String, Object> attributes;
+
+	private List<Object> positional;
+
+	NodeAttributes(Map<String, Object> attributes) {
+		this.attributes = attributes;
+	}
+
+	/**
+	 * Returns the value of the attribute with the given {@code name}.
+	 * @param name the name of the attribute
+	 * @return the value or {@code null}
+	 */
+	Object get(String name) {
+		return this.attributes.get(name);
+	}
+
+	/**
+	 * Returns whether the node has a positional attribute with the given {@code value},
+	 * for example {@code configprops} in {@code [source,properties,configprops]}.
+	 * @param value the value
+	 * @return {@code true} if the node has the positional attribute, otherwise
+	 * {@code false}
+	 */
+	boolean hasPositional(String value) {
+		return getPositional().contains(value);
+	}
+
+	private List<Object> getPositional() {
+		List<Object> positional = this.positional;
+		if (positional == null) {
+			positional = new ArrayList<>(4);
+			int last = Math.min(this.attributes.size() + 1, MAX_INDEX);
+			for (int i = 1; i <= last; i++) {
+				Object value = this.attributes.get(Integer.toString(i));
+				if (value != null) {
+					positional.add(value);
+				}
+			}
+			this.positional = positional;
+		}
+		return positional;
+	}
+
+	static NodeAttributes of(StructuralNode node) {
+		if (node instanceof Document || node instanceof DescriptionListEntry) {
+			return NONE;
+		}
+		return new NodeAttributes(node.getAttributes());
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.List;
+
+/**
+ * Writes properties in {@code .properties} format, adding each line to a list as it is
+ * completed. Names and values are escaped in the same way as
+ * {@link java.util.Properties#store(java.io.Writer, String)} except that {@code :} and
+ * {@code =} are not escaped in values and a value that contains line breaks is written
+ * as multiple lines using line continuations.
+ *
+ * @author Andy Wilkinson
+ */
+final class PropertiesWriter {
+
+	private final List<String> lines;
+
+	private final StringBuilder line = new StringBuilder();
+
+	PropertiesWriter(List<String> lines) {
+		this.lines = lines;
+	}
+
+	/**
+	 * Writes the given {@code line} as it is.
+	 * @param line the line
+	 */
+	void writeLine(String line) {
+		this.lines.add(line);
+	}
+
+	/**
+	 * Writes a property with the given {@code name} and {@code value}.
+	 * @param name the name of the property
+	 * @param value the value of the property
+	 */
+	void writeProperty(String name, String value) {
+		appendEscaped(name, 0, name.length(), true);
+		this.line.append('=');
+		int lineBreak = value.indexOf('\n');
+		if (lineBreak == -1) {
+			appendEscaped(value, 0, value.length(), false);
+			completeLine();
+			return;
+		}
+		this.line.append('\\');
+		completeLine();
+		int start = 0;
+		while (lineBreak != -1) {
+			appendEscaped(value, start, lineBreak, false);
+			this.line.append("\\n");
+			start = lineBreak + 1;
+			lineBreak = value.indexOf('\n', start);
+			if (lineBreak != -1 || start < value.length()) {
+				this.line.append('\\');
+			}
+			completeLine();
+		}
+		if (start < value.length()) {
+			appendEscaped(value, start, value.length(), false);
+			completeLine();
+		}
+	}
+
+	private void appendEscaped(String string, int start, int end, boolean name) {
+		for (int i = start; i < end; i++) {
+			char ch = string.charAt(i);
+			switch (ch) {
+				case '\\':
+					this.line.append("\\\\");
+					break;
+				case ' ':
+					this.line.append((name || i == 0) ? "\\ " : " ");
+					break;
+				case '\t':
+					this.line.append("\\t");
+					break;
+				case '\n':
+					this.line.append("\\n");
+					break;
+				case '\r':
+					this.line.append("\\r");
+					break;
+				case '\f':
+					this.line.append("\\f");
+					break;
+				case '=':
+				case ':':
+					if (name) {
+						this.line.append('\\');
+					}
+					this.line.append(ch);
+					break;
+				case '#':
+				case '!':
+					this.line.append('\\').append(ch);
+					break;
+				default:
+					this.line.append(ch);
+			}
+		}
+	}
+
+	private void completeLine() {
+		this.lines.add(this.line.toString());
+		this.line.setLength(0);
+	}
+
+}
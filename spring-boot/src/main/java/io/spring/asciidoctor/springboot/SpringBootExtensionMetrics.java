@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import io.spring.asciidoctor.springboot.ConfigurationPropertyValidator.Outcome;
+
+/**
+ * Service provider interface for recording metrics about the Spring Boot extension.
+ * Every method has a no-op default so implementations only need to override the
+ * callbacks that they are interested in. Implementations are discovered using
+ * {@link java.util.ServiceLoader} by listing them in
+ * {@code META-INF/services/io.spring.asciidoctor.springboot.SpringBootExtensionMetrics}.
+ * When no implementation is available, {@link #NONE} is used. Implementations must be
+ * thread-safe.
+ *
+ * @author Andy Wilkinson
+ */
+public interface SpringBootExtensionMetrics {
+
+	/**
+	 * Metrics that do nothing.
+	 */
+	SpringBootExtensionMetrics NONE = new SpringBootExtensionMetrics() {
+	};
+
+	/**
+	 * Called when configuration metadata has been loaded.
+	 * @param nanos the time taken to load the metadata, in nanoseconds
+	 * @param propertyCount the number of properties described by the metadata
+	 */
+	default void metadataLoaded(long nanos, int propertyCount) {
+	}
+
+	/**
+	 * Called when a configuration property has been validated.
+	 * @param outcome the outcome of the validation
+	 * @param cached whether the outcome was found in the cache of validation results
+	 */
+	default void propertyValidated(Outcome outcome, boolean cached) {
+	}
+
+	/**
+	 * Called when YAML content has been converted to {@code .properties}.
+	 * @param nanos the time taken by the conversion, in nanoseconds
+	 */
+	default void yamlConverted(long nanos) {
+	}
+
+	/**
+	 * Called when config blocks have been generated from a listing.
+	 * @param blockCount the number of generated blocks
+	 */
+	default void configBlocksGenerated(int blockCount) {
+	}
+
+	/**
+	 * Called when the YAML of a listing has been converted to {@code .properties} to
+	 * generate config blocks.
+	 * @param cached whether the result of an earlier conversion of the same content was
+	 * used
+	 */
+	default void configBlocksConverted(boolean cached) {
+	}
+
+	/**
+	 * Returns the metrics to use. This is the first implementation found by
+	 * {@link java.util.ServiceLoader}, or {@link #NONE} if there is no implementation.
+	 * @return the metrics
+	 */
+	static SpringBootExtensionMetrics get() {
+		return SpringBootExtensionMetricsLoader.metrics;
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Loads the {@link SpringBootExtensionMetrics} implementation the first time that it is
+ * needed.
+ *
+ * @author Andy Wilkinson
+ */
+final class SpringBootExtensionMetricsLoader {
+
+	static final SpringBootExtensionMetrics metrics = load();
+
+	private SpringBootExtensionMetricsLoader() {
+
+	}
+
+	private static SpringBootExtensionMetrics load() {
+		Iterator<SpringBootExtensionMetrics> implementations = ServiceLoader
+			.load(SpringBootExtensionMetrics.class, SpringBootExtensionMetrics.class.getClassLoader())
+			.iterator();
+		return implementations.hasNext() ? implementations.next() : SpringBootExtensionMetrics.NONE;
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package io.spring.asciidoctor.springboot;
 
+import java.util.Arrays;
+
 import org.asciidoctor.Asciidoctor;
 import org.asciidoctor.extension.JavaExtensionRegistry;
 import org.asciidoctor.jruby.extension.spi.ExtensionRegistry;
@@ -30,31 +32,74 @@ import org.asciidoctor.log.Severity;
  */
 public class SpringBootExtensionRegistry implements ExtensionRegistry {
 
+	/**
+	 * Name of the system property that can be used to configure the lowest severity of
+	 * the messages that the extension logs. By default, messages of every severity are
+	 * passed to the {@link LogHandler}. Unrecognized values are ignored.
+	 */
+	public static final String LOG_LEVEL_PROPERTY = "io.spring.asciidoctor.springboot.log-level";
+
+	private static final Severity DEFAULT_LOG_LEVEL = Severity.DEBUG;
+
 	@Override
 	public void register(Asciidoctor asciidoctor) {
 		JavaExtensionRegistry registry = asciidoctor.javaExtensionRegistry();
-		Logger logger = new LogHandlerLoggerAdapter((LogHandler) asciidoctor);
-		registry.inlineMacro(new ConfigurationPropertyInlineMacroProcessor(logger));
-		registry.treeprocessor(new ConfigurationPropertiesTreeprocessor(logger));
-		registry.treeprocessor(new ConfigurationBlocksTreeprocessor(logger));
+		BufferingLogger logger = new BufferingLogger(
+				new LogHandlerLoggerAdapter((LogHandler) asciidoctor, getLogLevel()));
+		DocumentValidators validators = new DocumentValidators(new ConfigurationPropertyValidator(logger));
+		registry.inlineMacro(new ConfigurationPropertyInlineMacroProcessor(validators));
+		registry.treeprocessor(new SpringBootTreeprocessor(
+				Arrays.asList(new ConfigurationPropertiesTreeprocessor(logger, validators).visitor(),
+						new ConfigurationBlocksTreeprocessor(logger).visitor())));
+		registry.postprocessor(new LogFlushingPostprocessor(logger));
+	}
+
+	private static Severity getLogLevel() {
+		String logLevel = System.getProperty(LOG_LEVEL_PROPERTY);
+		if (logLevel != null) {
+			for (Severity severity : Severity.values()) {
+				if (severity.name().equalsIgnoreCase(logLevel.trim())) {
+					return severity;
+				}
+			}
+		}
+		return DEFAULT_LOG_LEVEL;
 	}
 
 	private static final class LogHandlerLoggerAdapter implements Logger {
 
 		private final LogHandler logHandler;
 
-		private LogHandlerLoggerAdapter(LogHandler logHandler) {
+		private final Severity threshold;
+
+		private LogHandlerLoggerAdapter(LogHandler logHandler, Severity threshold) {
 			this.logHandler = logHandler;
+			this.threshold = threshold;
 		}
 
 		@Override
 		public void warn(String message) {
-			this.logHandler.log(new LogRecord(Severity.WARN, null, message, null, null));
+			log(Severity.WARN, message);
 		}
 
 		@Override
 		public void debug(String message) {
-			this.logHandler.log(new LogRecord(Severity.DEBUG, null, message, null, null));
+			log(Severity.DEBUG, message);
+		}
+
+		@Override
+		public boolean isDebugEnabled() {
+			return isEnabled(Severity.DEBUG);
+		}
+
+		private void log(Severity severity, String message) {
+			if (isEnabled(severity)) {
+				this.logHandler.log(new LogRecord(severity, null, message, null, null));
+			}
+		}
+
+		private boolean isEnabled(Severity severity) {
+			return severity.compareTo(this.threshold) >= 0;
 		}
 
 	}
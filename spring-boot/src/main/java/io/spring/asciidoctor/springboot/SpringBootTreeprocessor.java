@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.extension.Treeprocessor;
+
+/**
+ * {@link Treeprocessor} that walks a document's tree once on behalf of all of the Spring
+ * Boot extension's {@link TreeVisitor visitors}.
+ *
+ * @author Andy Wilkinson
+ */
+class SpringBootTreeprocessor extends Treeprocessor {
+
+	private final List<TreeVisitor<?>> visitors;
+
+	SpringBootTreeprocessor(List<? extends TreeVisitor<?>> visitors) {
+		this.visitors = new ArrayList<>(visitors);
+	}
+
+	@Override
+	public Document process(Document document) {
+		TreeWalker.walk(getClass().getSimpleName(), document, this.visitors);
+		return document;
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.List;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+
+/**
+ * A visitor of the nodes in a document's tree. Visitors are called by a
+ * {@link TreeWalker} that walks the tree once for any number of visitors.
+ *
+ * @param <S> the type of the state that the visitor keeps while visiting a document
+ * @author Andy Wilkinson
+ */
+interface TreeVisitor<S> {
+
+	/**
+	 * Called before the nodes of the given {@code document} are visited.
+	 * @param document the document
+	 * @return the state to be passed to the visitor's other methods while it visits the
+	 * document
+	 */
+	S start(Document document);
+
+	/**
+	 * Visits the given {@code node}.
+	 * @param node the node
+	 * @param attributes the attributes of the node
+	 * @param state the state returned from {@link #start(Document)}
+	 * @return the nodes that should replace the node in the tree, or {@code null} to keep
+	 * the node and visit its children
+	 */
+	List<StructuralNode> visit(StructuralNode node, NodeAttributes attributes, S state);
+
+	/**
+	 * Called once every node of the given {@code document} has been visited.
+	 * @param document the document
+	 * @param state the state returned from {@link #start(Document)}
+	 */
+	default void end(Document document, S state) {
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.asciidoctor.ast.DescriptionListEntry;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+
+/**
+ * Walks a document's tree once, passing each node to any number of
+ * {@link TreeVisitor visitors}. The children and attributes of each node are only
+ * retrieved once, irrespective of the number of visitors. When a visitor replaces a node,
+ * the remaining visitors do not visit it and the children of the node are not visited.
+ * The tree is walked iteratively so deeply nested documents cannot overflow the stack.
+ * Nodes with a context that never has child blocks, such as listings and paragraphs, are
+ * visited but their children are not retrieved.
+ *
+ * @author Andy Wilkinson
+ */
+final class TreeWalker {
+
+	/**
+	 * Contexts of nodes that never have child blocks. Their subtrees are not walked.
+	 */
+	private static final Set<String> LEAF_CONTEXTS = new HashSet<>(Arrays.asList("audio", "floating_title",
+			"image", "listing", "literal", "page_break", "paragraph", "pass", "stem", "table", "thematic_break", "toc",
+			"video"));
+
+	private TreeWalker() {
+
+	}
+
+	/**
+	 * Walks the tree of the given {@code document}, passing each node to the given
+	 * {@code visitors} in order.
+	 * @param name the name of the walk, used when recording a {@link TreeprocessorEvent}
+	 * @param document the document
+	 * @param visitors the visitors
+	 */
+	static void walk(String name, Document document, List<? extends TreeVisitor<?>> visitors) {
+		TreeprocessorEvent event = new TreeprocessorEvent();
+		event.begin();
+		List<Visit<?>> visits = new ArrayList<>(visitors.size());
+		for (TreeVisitor<?> visitor : visitors) {
+			visits.add(Visit.start(visitor, document));
+		}
+		visit(document, visits);
+		walk(document, visits);
+		for (Visit<?> visit : visits) {
+			visit.end(document);
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.treeprocessor = name;
+			event.document = Objects.toString(document.getAttribute("docfile"), null);
+			event.commit();
+		}
+	}
+
+	private static void walk(StructuralNode root, List<Visit<?>> visits) {
+		Deque<Children> stack = new ArrayDeque<>();
+		Children rootChildren = Children.of(root);
+		if (rootChildren != null) {
+			stack.push(rootChildren);
+		}
+		while (!stack.isEmpty()) {
+			Children children = stack.peek();
+			if (children.index >= children.nodes.size()) {
+				stack.pop();
+				continue;
+			}
+			StructuralNode child = children.nodes.get(children.index);
+			List<StructuralNode> replacement = visit(child, visits);
+			if (replacement != null) {
+				children.nodes.remove(children.index);
+				children.nodes.addAll(children.index, replacement);
+				children.index += replacement.size();
+			}
+			else {
+				children.index++;
+				Children grandchildren = Children.of(child);
+				if (grandchildren != null) {
+					stack.push(grandchildren);
+				}
+			}
+		}
+	}
+
+	private static List<StructuralNode> visit(StructuralNode node, List<Visit<?>> visits) {
+		NodeAttributes attributes = NodeAttributes.of(node);
+		for (Visit<?> visit : visits) {
+			List<StructuralNode> replacement = visit.visit(node, attributes);
+			if (replacement != null) {
+				return replacement;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The children of a node and the index of the next child to visit.
+	 */
+	private static final class Children {
+
+		private final List<StructuralNode> nodes;
+
+		private int index;
+
+		private Children(List<StructuralNode> nodes) {
+			this.nodes = nodes;
+		}
+
+		private static Children of(StructuralNode node) {
+			List<StructuralNode> nodes;
+			if (node instanceof DescriptionListEntry) {
+				nodes = ((DescriptionListEntry) node).getDescription().getBlocks();
+			}
+			else if (LEAF_CONTEXTS.contains(node.getContext())) {
+				return null;
+			}
+			else {
+				nodes = node.getBlocks();
+			}
+			return (nodes != null && !nodes.isEmpty()) ? new Children(nodes) : null;
+		}
+
+	}
+
+	/**
+	 * A visit of a document by a {@link TreeVisitor}, holding the visitor's state.
+	 *
+	 * @param <S> the type of the visitor's state
+	 */
+	private static final class Visit<S> {
+
+		private final TreeVisitor<S> visitor;
+
+		private final S state;
+
+		private Visit(TreeVisitor<S> visitor, S state) {
+			this.visitor = visitor;
+			this.state = state;
+		}
+
+		private List<StructuralNode> visit(StructuralNode node, NodeAttributes attributes) {
+			return this.visitor.visit(node, attributes, this.state);
+		}
+
+		private void end(Document document) {
+			this.visitor.end(document, this.state);
+		}
+
+		private static <S> Visit<S> start(TreeVisitor<S> visitor, Document document) {
+			return new Visit<>(visitor, visitor.start(document));
+		}
+
+	}
+
+}
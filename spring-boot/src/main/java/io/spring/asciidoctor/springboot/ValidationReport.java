@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import io.spring.asciidoctor.springboot.ConfigurationPropertyValidator.Outcome;
+
+/**
+ * An immutable report of the outcome of validating a number of configuration properties.
+ * The report has one {@link Entry} for each distinct property name, ordered by name.
+ *
+ * @author Andy Wilkinson
+ * @see ConfigurationPropertyValidator#validate(java.util.Collection, ValidationSettings)
+ */
+public final class ValidationReport {
+
+	private final List<Entry> entries;
+
+	ValidationReport(List<Entry> entries) {
+		this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+	}
+
+	/**
+	 * Returns the entries in the report, ordered by property name.
+	 * @return the entries
+	 */
+	public List<Entry> getEntries() {
+		return this.entries;
+	}
+
+	/**
+	 * Returns the entry for the property with the given {@code propertyName}.
+	 * @param propertyName the name of the property
+	 * @return the entry or {@code null} if the property was not validated
+	 */
+	public Entry getEntry(String propertyName) {
+		int low = 0;
+		int high = this.entries.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int comparison = this.entries.get(mid).getPropertyName().compareTo(propertyName);
+			if (comparison < 0) {
+				low = mid + 1;
+			}
+			else if (comparison > 0) {
+				high = mid - 1;
+			}
+			else {
+				return this.entries.get(mid);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the entries with the given {@code outcome}, ordered by property name.
+	 * @param outcome the outcome
+	 * @return the entries
+	 */
+	public List<Entry> getEntries(Outcome outcome) {
+		List<Entry> entries = new ArrayList<>();
+		for (Entry entry : this.entries) {
+			if (entry.getOutcome() == outcome) {
+				entries.add(entry);
+			}
+		}
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Returns whether every property in the report was successfully validated.
+	 * @return {@code true} if every property was validated, otherwise {@code false}
+	 */
+	public boolean isValid() {
+		for (Entry entry : this.entries) {
+			if (entry.getOutcome() != Outcome.VALIDATED) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The outcome of validating a single configuration property.
+	 */
+	public static final class Entry {
+
+		private final String propertyName;
+
+		private final String canonicalName;
+
+		private final String formattedName;
+
+		private final Outcome outcome;
+
+		private final Supplier<String> message;
+
+		Entry(String propertyName, String canonicalName, String formattedName, Outcome outcome,
+				Supplier<String> message) {
+			this.propertyName = propertyName;
+			this.canonicalName = canonicalName;
+			this.formattedName = formattedName;
+			this.outcome = outcome;
+			this.message = message;
+		}
+
+		/**
+		 * Returns the name of the property as it was provided for validation.
+		 * @return the property name
+		 */
+		public String getPropertyName() {
+			return this.propertyName;
+		}
+
+		/**
+		 * Returns the canonical name of the property. This is the name from the
+		 * configuration metadata if the property was found, otherwise it is the name that
+		 * was provided for validation.
+		 * @return the canonical name
+		 */
+		public String getCanonicalName() {
+			return this.canonicalName;
+		}
+
+		/**
+		 * Returns the canonical name of the property, formatted using the
+		 * {@link ValidationSettings#getFormat() format} of the validation settings.
+		 * @return the formatted name
+		 */
+		public String getFormattedName() {
+			return this.formattedName;
+		}
+
+		public Outcome getOutcome() {
+			return this.outcome;
+		}
+
+		/**
+		 * Returns a message describing the outcome of the validation.
+		 * @return the message
+		 */
+		public String getMessage() {
+			return this.message.get();
+		}
+
+	}
+
+}
@@ -0,0 +1,609 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import io.spring.asciidoctor.springboot.YamlToPropertiesConverter.Document;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * Flattens a stream of YAML {@link Event events} into {@link Document documents} of
+ * {@code name=value} properties. Only the path to the current node is held on a stack,
+ * along with the events of anchored nodes so that aliases to them can be replayed.
+ * Verbatim lines, such as comments, are added to the documents in the position of the
+ * line on which they appear.
+ * <p>
+ * Plain scalars are resolved in the same way as SnakeYAML's {@code SafeConstructor}
+ * so, for example, {@code 0x1F} becomes {@code 31} and {@code yes} becomes
+ * {@code true}. Timestamps are left as they were written. A key that is a mapping or a
+ * sequence is written in the same form as the {@code toString()} of the corresponding
+ * Java {@link Map} or {@link List}, enclosed in square brackets. For example, the key of
+ * {@code [a, b]: c} is {@code [[a, b]]}.
+ *
+ * @author Andy Wilkinson
+ */
+final class YamlEventFlattener {
+
+	private static final Pattern VALID_COMPONENT_NAME = Pattern.compile("^[a-z0-9][a-z0-9-\\.]*$");
+
+	private static final Resolver RESOLVER = new Resolver();
+
+	private final List<Document> documents = new ArrayList<>();
+
+	private final Deque<Frame> frames = new ArrayDeque<>();
+
+	private final Map<String, List<Event>> anchors = new HashMap<>();
+
+	private final List<Recording> recordings = new ArrayList<>();
+
+	private final NavigableMap<Integer, String> verbatimLines;
+
+	private final int maxAliasesForCollections;
+
+	private int collectionAliases;
+
+	private int replaying;
+
+	private int overrides;
+
+	private Document document;
+
+	YamlEventFlattener(LoaderOptions loaderOptions) {
+		this(loaderOptions, Collections.emptyNavigableMap());
+	}
+
+	/**
+	 * Creates a new {@code YamlEventFlattener}. The given {@code verbatimLines} are
+	 * removed from the map as they are added to the documents.
+	 * @param loaderOptions the loader options
+	 * @param verbatimLines the verbatim lines keyed by their zero-based line number
+	 */
+	YamlEventFlattener(LoaderOptions loaderOptions, NavigableMap<Integer, String> verbatimLines) {
+		this.maxAliasesForCollections = loaderOptions.getMaxAliasesForCollections();
+		this.verbatimLines = verbatimLines;
+	}
+
+	List<Document> getDocuments() {
+		return this.documents;
+	}
+
+	void accept(Event event) {
+		if (event instanceof AliasEvent) {
+			replay(((AliasEvent) event).getAnchor());
+			return;
+		}
+		record(event);
+		if (event instanceof DocumentStartEvent) {
+			this.document = new Document();
+			this.documents.add(this.document);
+			this.anchors.clear();
+			this.frames.clear();
+			this.overrides = 0;
+			this.frames.push(Frame.root());
+		}
+		else if (event instanceof DocumentEndEvent) {
+			addVerbatimLines(event.getStartMark().getLine());
+		}
+		else if (event instanceof StreamEndEvent && !this.verbatimLines.isEmpty()) {
+			if (this.documents.isEmpty()) {
+				this.documents.add(new Document());
+			}
+			this.document = this.documents.get(this.documents.size() - 1);
+			addVerbatimLines(Integer.MAX_VALUE);
+		}
+		else if (event instanceof ScalarEvent) {
+			scalar((ScalarEvent) event);
+		}
+		else if (event instanceof CollectionStartEvent) {
+			startCollection(event instanceof MappingStartEvent);
+		}
+		else if (event instanceof CollectionEndEvent) {
+			endCollection();
+		}
+	}
+
+	private void replay(String anchor) {
+		List<Event> events = this.anchors.get(anchor);
+		if (events == null) {
+			throw new IllegalStateException("Found undefined alias '" + anchor + "'");
+		}
+		if (events.get(0) instanceof CollectionStartEvent
+				&& ++this.collectionAliases > this.maxAliasesForCollections) {
+			throw new IllegalStateException(
+					"Number of aliases for non-scalar nodes exceeds the maximum of " + this.maxAliasesForCollections);
+		}
+		this.replaying++;
+		try {
+			events.forEach(this::accept);
+		}
+		finally {
+			this.replaying--;
+		}
+	}
+
+	private void record(Event event) {
+		Iterator<Recording> iterator = this.recordings.iterator();
+		while (iterator.hasNext()) {
+			Recording recording = iterator.next();
+			if (recording.add(event)) {
+				this.anchors.put(recording.anchor, recording.events);
+				iterator.remove();
+			}
+		}
+		String anchor = (event instanceof NodeEvent) ? ((NodeEvent) event).getAnchor() : null;
+		if (anchor != null && this.replaying == 0) {
+			Recording recording = new Recording(anchor);
+			if (recording.add(event)) {
+				this.anchors.put(anchor, recording.events);
+			}
+			else {
+				this.recordings.add(recording);
+			}
+		}
+	}
+
+	private void scalar(ScalarEvent event) {
+		discardVerbatimLines(event);
+		Frame frame = this.frames.peek();
+		Tag tag = resolveTag(event);
+		String value = construct(tag, event.getValue());
+		if (frame.kind == Kind.KEY) {
+			frame.append(value);
+			return;
+		}
+		if (frame.isExpectingKey()) {
+			if (Tag.MERGE.equals(tag)) {
+				frame.merge = true;
+			}
+			else {
+				setKey(frame, (Tag.STR.equals(tag)) ? value : "[" + value + "]");
+			}
+			return;
+		}
+		if (frame.kind == Kind.ROOT) {
+			if (value != null) {
+				throw new IllegalStateException("Expected a mapping but found '" + event.getValue() + "'");
+			}
+			return;
+		}
+		if (frame.merge || frame.kind == Kind.MERGE_SOURCES) {
+			throw new IllegalStateException("Expected a mapping to merge but found '" + event.getValue() + "'");
+		}
+		boolean skip = frame.isSkippingValue();
+		String name = frame.nextName();
+		if (!skip) {
+			put(name, (value != null) ? value : (frame.kind == Kind.SEQUENCE) ? "" : "null",
+					event.getStartMark().getLine());
+		}
+	}
+
+	private void setKey(Frame frame, String key) {
+		completeOverride(frame);
+		Frame target = frame.target;
+		if (target != frame && target.isClaimed(key)) {
+			frame.skipValue = true;
+		}
+		else {
+			if (frame.mergedKeys.remove(key)) {
+				String name = getName(frame.path, key);
+				frame.overridden = new HashSet<>();
+				this.document.forEach((entryName, value) -> {
+					if (isWithin(entryName, name)) {
+						frame.overridden.add(entryName);
+					}
+				});
+				this.overrides++;
+			}
+			if (target != frame) {
+				target.mergedKeys.add(key);
+			}
+		}
+		frame.setKey(key);
+	}
+
+	private void endCollection() {
+		Frame frame = this.frames.pop();
+		if (frame.kind == Kind.KEY) {
+			String key = frame.keyText();
+			Frame parent = this.frames.peek();
+			if (parent.kind == Kind.KEY) {
+				parent.append(key);
+			}
+			else {
+				setKey(parent, "[" + key + "]");
+			}
+			return;
+		}
+		completeOverride(frame);
+		if (frame.target != frame && frame.kind == Kind.MAPPING) {
+			frame.target.mergedKeys.addAll(frame.mergedKeys);
+		}
+	}
+
+	/**
+	 * Completes the override of a merged entry by an explicit entry, removing any
+	 * properties of the merged entry that the explicit entry did not replace.
+	 * @param frame the frame of the mapping containing the entries
+	 */
+	private void completeOverride(Frame frame) {
+		if (frame.overridden != null) {
+			Set<String> overridden = frame.overridden;
+			this.document.entrySet().removeIf((entry) -> overridden.contains(entry.getKey()));
+			frame.overridden = null;
+			this.overrides--;
+		}
+	}
+
+	private void put(String name, String value, int line) {
+		addVerbatimLines(line);
+		if (this.overrides > 0) {
+			for (Frame frame : this.frames) {
+				if (frame.overridden != null) {
+					frame.overridden.remove(name);
+				}
+			}
+		}
+		this.document.put(name, value);
+	}
+
+	private void startCollection(boolean mapping) {
+		Frame frame = this.frames.peek();
+		if (frame.kind == Kind.KEY || frame.isExpectingKey()) {
+			this.frames.push(Frame.key(mapping));
+		}
+		else if (frame.kind == Kind.ROOT) {
+			if (!mapping) {
+				throw new IllegalStateException("Expected a mapping but found a sequence");
+			}
+			this.frames.push(Frame.mapping("", false));
+		}
+		else if (frame.merge) {
+			frame.merge = false;
+			this.frames.push((mapping) ? Frame.merged(frame) : Frame.mergeSources(frame));
+		}
+		else if (frame.kind == Kind.MERGE_SOURCES) {
+			if (!mapping) {
+				throw new IllegalStateException("Expected a mapping to merge but found a sequence");
+			}
+			this.frames.push(Frame.merged(frame.target));
+		}
+		else {
+			boolean skip = frame.isSkippingValue();
+			String name = frame.nextName();
+			this.frames.push((mapping) ? Frame.mapping(name, skip) : Frame.sequence(name, skip));
+		}
+	}
+
+	private void addVerbatimLines(int line) {
+		while (!this.verbatimLines.isEmpty() && this.verbatimLines.firstKey() < line) {
+			this.document.addLine(this.verbatimLines.pollFirstEntry().getValue());
+		}
+	}
+
+	/**
+	 * Discards the verbatim lines that are part of the given multi-line scalar, such as
+	 * the empty lines within a literal block scalar, so that they are not also added to
+	 * the document. Empty lines that trail the scalar are kept as they separate it from
+	 * what follows unless the scalar's value keeps them.
+	 * @param event the scalar event
+	 */
+	private void discardVerbatimLines(ScalarEvent event) {
+		int start = event.getStartMark().getLine();
+		int end = event.getEndMark().getLine() + ((event.getEndMark().getColumn() > 0) ? 1 : 0);
+		if (end - start < 2 || this.verbatimLines.isEmpty()) {
+			return;
+		}
+		if (!event.getValue().endsWith("\n\n")) {
+			while (end - 1 > start && "".equals(this.verbatimLines.get(end - 1))) {
+				end--;
+			}
+		}
+		this.verbatimLines.subMap(start, end).clear();
+	}
+
+	private Tag resolveTag(ScalarEvent event) {
+		String tag = event.getTag();
+		if (tag == null || "!".equals(tag)) {
+			return RESOLVER.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+		}
+		return new Tag(tag);
+	}
+
+	private static String construct(Tag tag, String value) {
+		if (Tag.NULL.equals(tag)) {
+			return null;
+		}
+		if (Tag.BOOL.equals(tag)) {
+			String lowerCase = value.toLowerCase(Locale.ENGLISH);
+			return String.valueOf("true".equals(lowerCase) || "yes".equals(lowerCase) || "on".equals(lowerCase));
+		}
+		if (Tag.INT.equals(tag)) {
+			return constructInt(value);
+		}
+		if (Tag.FLOAT.equals(tag)) {
+			return constructFloat(value);
+		}
+		return value;
+	}
+
+	private static String constructInt(String value) {
+		value = value.replace("_", "");
+		String sign = "";
+		if (value.startsWith("-") || value.startsWith("+")) {
+			sign = (value.charAt(0) == '-') ? "-" : "";
+			value = value.substring(1);
+		}
+		if ("0".equals(value)) {
+			return "0";
+		}
+		if (value.startsWith("0b")) {
+			return new BigInteger(sign + value.substring(2), 2).toString();
+		}
+		if (value.startsWith("0x")) {
+			return new BigInteger(sign + value.substring(2), 16).toString();
+		}
+		if (value.startsWith("0")) {
+			return new BigInteger(sign + value.substring(1), 8).toString();
+		}
+		if (value.indexOf(':') != -1) {
+			String[] digits = value.split(":");
+			long result = 0;
+			for (String digit : digits) {
+				result = result * 60 + Long.parseLong(digit);
+			}
+			return new BigInteger(sign + result).toString();
+		}
+		return new BigInteger(sign + value).toString();
+	}
+
+	private static String constructFloat(String value) {
+		value = value.replace("_", "");
+		int sign = 1;
+		if (value.startsWith("-") || value.startsWith("+")) {
+			sign = (value.charAt(0) == '-') ? -1 : 1;
+			value = value.substring(1);
+		}
+		String lowerCase = value.toLowerCase(Locale.ENGLISH);
+		if (".inf".equals(lowerCase)) {
+			return String.valueOf((sign == -1) ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+		}
+		if (".nan".equals(lowerCase)) {
+			return String.valueOf(Double.NaN);
+		}
+		if (value.indexOf(':') != -1) {
+			String[] digits = value.split(":");
+			double result = 0;
+			for (String digit : digits) {
+				result = result * 60 + Double.parseDouble(digit);
+			}
+			return String.valueOf(sign * result);
+		}
+		return String.valueOf(Double.parseDouble(value) * sign);
+	}
+
+	private static String getName(String path, String key) {
+		String name = (key.startsWith("[") || VALID_COMPONENT_NAME.matcher(key).matches()) ? key : "[" + key + "]";
+		if (path.isEmpty()) {
+			return name;
+		}
+		return (name.startsWith("[")) ? path + name : path + "." + name;
+	}
+
+	private static boolean isWithin(String name, String path) {
+		if (!name.startsWith(path)) {
+			return false;
+		}
+		if (name.length() == path.length()) {
+			return true;
+		}
+		char next = name.charAt(path.length());
+		return next == '.' || next == '[';
+	}
+
+	private enum Kind {
+
+		ROOT, MAPPING, SEQUENCE, MERGE_SOURCES, KEY
+
+	}
+
+	/**
+	 * A node on the path to the current node.
+	 */
+	private static final class Frame {
+
+		private final Kind kind;
+
+		private final String path;
+
+		private final boolean skipping;
+
+		private final Frame target;
+
+		private final Set<String> keys;
+
+		private final Set<String> mergedKeys;
+
+		private String key;
+
+		private Set<String> overridden;
+
+		private boolean skipValue;
+
+		private boolean merge;
+
+		private int index;
+
+		private StringBuilder keyText;
+
+		private boolean keyMapping;
+
+		private Frame(Kind kind, String path, boolean skipping, Frame target) {
+			this.kind = kind;
+			this.path = path;
+			this.skipping = skipping;
+			this.target = (target != null) ? target : this;
+			this.keys = (kind == Kind.MAPPING) ? new HashSet<>() : null;
+			this.mergedKeys = (kind == Kind.MAPPING) ? new HashSet<>() : null;
+		}
+
+		private boolean isExpectingKey() {
+			return this.kind == Kind.MAPPING && this.key == null && !this.merge;
+		}
+
+		private boolean isClaimed(String key) {
+			return this.keys.contains(key) || this.mergedKeys.contains(key)
+					|| (this.target != this && this.target.isClaimed(key));
+		}
+
+		private boolean isSkippingValue() {
+			return this.skipping || this.skipValue;
+		}
+
+		private void setKey(String key) {
+			if (!this.keys.add(key)) {
+				throw new IllegalStateException("Found duplicate key '" + key + "'");
+			}
+			this.key = key;
+		}
+
+		private String nextName() {
+			if (this.kind == Kind.SEQUENCE) {
+				return this.path + "[" + (this.index++) + "]";
+			}
+			String name = getName(this.path, this.key);
+			this.key = null;
+			this.skipValue = false;
+			return name;
+		}
+
+		/**
+		 * Appends the given {@code value} to the text of a key that is a mapping or a
+		 * sequence, separating it from the previous value in the same way as
+		 * {@link java.util.AbstractMap#toString()} and
+		 * {@link java.util.AbstractCollection#toString()}.
+		 * @param value the value, which may be {@code null}
+		 */
+		private void append(String value) {
+			if (this.index > 0) {
+				this.keyText.append((this.keyMapping && this.index % 2 == 1) ? "=" : ", ");
+			}
+			this.keyText.append(value);
+			this.index++;
+		}
+
+		private String keyText() {
+			return this.keyText.append((this.keyMapping) ? '}' : ']').toString();
+		}
+
+		private static Frame root() {
+			return new Frame(Kind.ROOT, "", false, null);
+		}
+
+		private static Frame mapping(String path, boolean skipping) {
+			return new Frame(Kind.MAPPING, path, skipping, null);
+		}
+
+		private static Frame sequence(String path, boolean skipping) {
+			return new Frame(Kind.SEQUENCE, path, skipping, null);
+		}
+
+		private static Frame key(boolean mapping) {
+			Frame frame = new Frame(Kind.KEY, "", false, null);
+			frame.keyMapping = mapping;
+			frame.keyText = new StringBuilder((mapping) ? "{" : "[");
+			return frame;
+		}
+
+		/**
+		 * Creates a frame for a mapping whose entries are merged into the given
+		 * {@code target} mapping. An entry is skipped if the target already has an entry
+		 * with the same key, either explicitly or from an earlier merge. An explicit entry
+		 * of the target that follows the merge overrides the merged entry.
+		 * @param target the target mapping
+		 * @return the frame
+		 */
+		private static Frame merged(Frame target) {
+			return new Frame(Kind.MAPPING, target.path, target.skipping, target);
+		}
+
+		private static Frame mergeSources(Frame target) {
+			return new Frame(Kind.MERGE_SOURCES, target.path, target.skipping, target);
+		}
+
+	}
+
+	/**
+	 * The events of an anchored node that are being recorded.
+	 */
+	private static final class Recording {
+
+		private final String anchor;
+
+		private final List<Event> events = new ArrayList<>();
+
+		private int depth;
+
+		private Recording(String anchor) {
+			this.anchor = anchor;
+		}
+
+		/**
+		 * Adds the given {@code event} to the recording.
+		 * @param event the event
+		 * @return {@code true} if the event completed the anchored node
+		 */
+		private boolean add(Event event) {
+			this.events.add(event);
+			if (event instanceof CollectionStartEvent) {
+				this.depth++;
+			}
+			else if (event instanceof CollectionEndEvent) {
+				this.depth--;
+			}
+			return this.depth == 0;
+		}
+
+	}
+
+}
@@ -16,50 +16,49 @@
 
 package io.spring.asciidoctor.springboot;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
+import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Properties;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.BiConsumer;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 
 /**
- * Converter that turns {@code .yaml} config data into {@code .properties}.
+ * Converter that turns {@code .yaml} config data into {@code .properties}. A converter
+ * holds no state between conversions and can be used concurrently by multiple threads.
+ * All converters share a single {@link Yaml} instance that is used to parse the content.
+ * Parsing creates a new parser for each call and only reads the instance's immutable
+ * configuration so the instance can be used concurrently.
  *
  * @author Phillip Webb
  */
 public class YamlToPropertiesConverter {
 
-	private static final Pattern VALID_COMPONENT_NAME = Pattern.compile("^[a-z0-9][a-z0-9-\\.]*$");
+	private static final LoaderOptions LOADER_OPTIONS = new LoaderOptions();
 
-	private static final String PREFIX = YamlToPropertiesConverter.class.getName().replace(".", "").toLowerCase();
-
-	private static final String BLANK_LINE = PREFIX + "blankline";
-
-	private static final String COMMENT = PREFIX + "comment";
-
-	private int counter;
+	private static final Yaml PARSER = new Yaml(LOADER_OPTIONS);
 
 	List<String> convertLines(List<String> source) {
-		String content = getContent(source);
+		StringBuilder content = new StringBuilder();
+		NavigableMap<Integer, String> verbatimLines = new TreeMap<>();
+		for (int i = 0; i < source.size(); i++) {
+			String line = source.get(i);
+			if (line.isEmpty() || line.startsWith("# ")) {
+				verbatimLines.put(i, line);
+			}
+			content.append(line).append("\n");
+		}
 		try {
-			List<Document> documents = convertContent(content);
+			List<Document> documents = convertContent(content.toString(), verbatimLines);
 			List<String> result = new ArrayList<>();
 			for (int i = 0; i < documents.size(); i++) {
 				result.addAll(documents.get(i).getLines());
@@ -75,183 +74,83 @@ public class YamlToPropertiesConverter {
 	}
 
 	List<Document> convertContent(String content) {
-		List<Document> documents = new ArrayList<>();
-		for (Object loaded : getYaml().loadAll(content)) {
-			documents.add(new Document(asMap(loaded)));
-		}
-		return documents;
+		return convertContent(content, Collections.emptyNavigableMap());
 	}
 
-	private String getContent(List<String> source) {
-		StringBuilder builder = new StringBuilder();
-		for (int i = 0; i < source.size(); i++) {
-			String line = source.get(i);
-			String previousLine = (i > 0) ? source.get(i - 1) : "";
-			builder.append(preProcess(line, previousLine)).append("\n");
-		}
-		return builder.toString();
-	}
-
-	private String preProcess(String line, String previousLine) {
-		String indentation = getIndentation(previousLine);
-		if (line.isEmpty()) {
-			int i = this.counter++;
-			return indentation + BLANK_LINE + i + ": " + i;
-		}
-		if (line.startsWith("# ")) {
-			return indentation + COMMENT + (this.counter++) + ": \"" + line + "\"";
-		}
-		return line;
-	}
-
-	private String getIndentation(String previousLine) {
-		StringBuilder result = new StringBuilder();
-		for (int i = 0; i < previousLine.length(); i++) {
-			if (previousLine.charAt(i) != ' ') {
-				return result.toString();
-			}
-			result.append(" ");
-		}
-		return result.toString();
+	/**
+	 * Converts the given YAML {@code content} into documents of properties. The given
+	 * {@code verbatimLines}, typically comments and blank lines, are carried through to
+	 * the documents in the position of the line on which they appear in the content.
+	 * @param content the YAML content
+	 * @param verbatimLines the verbatim lines keyed by their zero-based line number
+	 * @return the documents
+	 */
+	private List<Document> convertContent(String content, NavigableMap<Integer, String> verbatimLines) {
+		YamlConversionEvent event = new YamlConversionEvent();
+		event.begin();
+		long start = System.nanoTime();
+		YamlEventFlattener flattener = new YamlEventFlattener(LOADER_OPTIONS, verbatimLines);
+		PARSER.parse(new StringReader(content)).forEach(flattener::accept);
+		List<Document> documents = flattener.getDocuments();
+		long nanos = System.nanoTime() - start;
+		event.end();
+		if (event.shouldCommit()) {
+			event.contentLength = content.length();
+			event.documentCount = documents.size();
+			event.commit();
+		}
+		SpringBootExtensionMetrics.get().yamlConverted(nanos);
+		return documents;
 	}
 
-	private Yaml getYaml() {
-		LoaderOptions loaderOptions = new LoaderOptions();
-		loaderOptions.setAllowDuplicateKeys(false);
-		Yaml yaml = new Yaml(loaderOptions);
-		return yaml;
-	}
+	static class Document {
 
-	@SuppressWarnings("unchecked")
-	private Map<String, Object> asMap(Object object) {
-		Map<String, Object> result = new LinkedHashMap<>();
-		Map<Object, Object> map = (Map<Object, Object>) object;
-		map.forEach((key, value) -> {
-			String name = (key instanceof CharSequence) ? key.toString() : "[" + key + "]";
-			if (value instanceof Map) {
-				value = asMap(value);
-			}
-			else if (!(value instanceof Collection)) {
-				value = String.valueOf(value);
-			}
-			result.put(name, value);
-		});
-		return result;
-	}
+		private final Map<String, String> entries = new LinkedHashMap<>();
 
-	static class Document extends Properties {
+		private final Map<String, List<String>> leadingLines = new HashMap<>();
 
-		private final Map<Object, Object> entries = new LinkedHashMap<>();
+		private List<String> trailingLines = new ArrayList<>();
 
-		Document(Map<String, Object> map) {
-			flatten("", map);
+		/**
+		 * Adds a line that is output verbatim before the next property that is added.
+		 * @param line the line
+		 */
+		void addLine(String line) {
+			this.trailingLines.add(line);
 		}
 
-		@SuppressWarnings("unchecked")
-		private void flatten(String path, Map<String, Object> source) {
-			source.forEach((key, value) -> {
-				String name = getName(path, key);
-				if (value instanceof String) {
-					put(name, value);
-				}
-				else if (value instanceof Map) {
-					flatten(name, (Map<String, Object>) value);
-				}
-				else if (value instanceof Collection) {
-					int index = 0;
-					for (Object element : (Collection<Object>) value) {
-						flatten(name, Collections.singletonMap("[" + (index++) + "]", element));
-					}
-				}
-				else {
-					put(name, (value != null) ? value : "");
-				}
-			});
-		}
-
-		private String getName(String path, String key) {
-			String name = (key.startsWith("[") || VALID_COMPONENT_NAME.matcher(key).matches()) ? key : "[" + key + "]";
-			if (path == null || "".equals(path)) {
-				return name;
+		void put(String name, String value) {
+			if (!this.trailingLines.isEmpty()) {
+				this.leadingLines.merge(name, this.trailingLines, (existing, lines) -> {
+					existing.addAll(lines);
+					return existing;
+				});
+				this.trailingLines = new ArrayList<>();
 			}
-			String separator = (!name.startsWith("[")) ? "." : "";
-			return path + separator + name;
-		}
-
-		@Override
-		@SuppressWarnings({ "unchecked", "rawtypes" })
-		public synchronized Enumeration<Object> keys() {
-			return Collections.enumeration((Set) this.entries.keySet());
+			this.entries.put(name, value);
 		}
 
-		@Override
-		public synchronized Object put(Object key, Object value) {
-			return this.entries.put(key, value);
+		String get(String name) {
+			return this.entries.get(name);
 		}
 
-		@Override
-		public synchronized Object get(Object key) {
-			return this.entries.get(key);
-		}
-
-		@Override
-		public Set<Entry<Object, Object>> entrySet() {
+		Set<Entry<String, String>> entrySet() {
 			return this.entries.entrySet();
 		}
 
-		@Override
-		public synchronized void forEach(BiConsumer<? super Object, ? super Object> action) {
+		void forEach(BiConsumer<String, String> action) {
 			this.entries.forEach(action);
 		}
 
 		private List<String> getLines() {
-			try {
-				StringWriter writer = new StringWriter();
-				store(writer, null);
-				List<String> lines = Arrays.stream(writer.toString().split("\n"))
-					.flatMap(this::postProcess)
-					.collect(Collectors.toList());
-				lines.remove(0);
-				return lines;
-			}
-			catch (IOException ex) {
-				throw new IllegalStateException(ex);
-			}
-		}
-
-		private Stream<String> postProcess(String line) {
-			int split = line.indexOf('=');
-			if (split == -1) {
-				return Stream.of(line);
-			}
-			String name = line.substring(0, split);
-			String value = line.substring(split + 1);
-			if (name.contains(BLANK_LINE)) {
-				return Stream.of("");
-			}
-			if (name.contains(COMMENT)) {
-				try {
-					Properties properties = new Properties();
-					properties.load(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)));
-					return Stream.of((String) properties.values().iterator().next());
-				}
-				catch (IOException ex) {
-					throw new IllegalStateException(ex);
-				}
-			}
-			value = value.replace("\\:", ":");
-			value = value.replace("\\=", "=");
-			if (!value.contains("\\n")) {
-				return Stream.of(name + "=" + value);
-			}
-
-			List<String> multilines = new ArrayList<>(Arrays.asList(value.split("\\\\n")));
-			for (int i = 0; i < multilines.size(); i++) {
-				boolean last = i == multilines.size() - 1;
-				multilines.set(i, multilines.get(i) + "\\n" + ((!last) ? "\\" : ""));
-			}
-			multilines.add(0, name + "=\\");
-			return multilines.stream();
+			List<String> lines = new ArrayList<>();
+			PropertiesWriter writer = new PropertiesWriter(lines);
+			this.entries.forEach((name, value) -> {
+				this.leadingLines.getOrDefault(name, Collections.emptyList()).forEach(writer::writeLine);
+				writer.writeProperty(name, value);
+			});
+			this.trailingLines.forEach(writer::writeLine);
+			return lines;
 		}
 
 	}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Event recorded when configuration metadata is loaded.
+ *
+ * @author Andy Wilkinson
+ */
+@Name("io.spring.asciidoctor.springboot.MetadataLoad")
+@Label("Configuration Metadata Load")
+@Description("Loading of configuration metadata")
+@Category({ "Spring Asciidoctor Extensions", "Spring Boot" })
+class MetadataLoadEvent extends Event {
+
+	@Label("Source")
+	@Description("Classpath or locations from which the metadata was loaded")
+	String source;
+
+	@Label("Property Count")
+	@Description("Number of properties described by the metadata")
+	int propertyCount;
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BufferingLogger}.
+ *
+ * @author Andy Wilkinson
+ */
+class BufferingLoggerTests {
+
+	private final TestLogger delegate = new TestLogger();
+
+	private final BufferingLogger logger = new BufferingLogger(this.delegate);
+
+	@Test
+	void messagesAreNotLoggedUntilFlushed() {
+		this.logger.warn("alpha");
+		this.logger.debug("bravo");
+		assertThat(this.delegate).warnMessages().isEmpty();
+		assertThat(this.delegate).debugMessages().isEmpty();
+		this.logger.flush();
+		assertThat(this.delegate).warnMessages().containsExactly("alpha");
+		assertThat(this.delegate).debugMessages().containsExactly("bravo");
+	}
+
+	@Test
+	void repeatedMessagesAreLoggedOnceWithTheirNumberOfOccurrences() {
+		this.logger.warn("alpha");
+		this.logger.warn("bravo");
+		this.logger.warn("alpha");
+		this.logger.debug("alpha");
+		this.logger.warn("alpha");
+		this.logger.flush();
+		assertThat(this.delegate).warnMessages().containsExactly("alpha (3 occurrences)", "bravo");
+		assertThat(this.delegate).debugMessages().containsExactly("alpha");
+	}
+
+	@Test
+	void messagesAreOnlyLoggedOnce() {
+		this.logger.warn("alpha");
+		this.logger.flush();
+		this.logger.flush();
+		assertThat(this.delegate).warnMessages().containsExactly("alpha");
+	}
+
+	@Test
+	void whenDebugIsDisabledDebugMessagesAreNotBuffered() {
+		TestLogger delegate = new TestLogger(false);
+		BufferingLogger logger = new BufferingLogger(delegate);
+		logger.debug(() -> {
+			throw new IllegalStateException("Should not be called");
+		});
+		logger.debug("alpha");
+		logger.flush();
+		assertThat(delegate).debugMessages().isEmpty();
+	}
+
+	@Test
+	void completeWithSummaryLogsSummaryOfWarningsSinceLastCompletion() {
+		this.logger.warn("alpha");
+		this.logger.warn("alpha");
+		this.logger.flush();
+		this.logger.warn("alpha");
+		this.logger.warn("bravo");
+		this.logger.complete(true);
+		assertThat(this.delegate).warnMessages()
+			.containsExactly("alpha (2 occurrences)", "alpha", "bravo",
+					"Configuration property validation logged 4 warnings for 2 distinct problems.");
+		this.logger.warn("charlie");
+		this.logger.complete(true);
+		assertThat(this.delegate).warnMessages()
+			.endsWith("charlie", "Configuration property validation logged 1 warning for 1 distinct problem.");
+	}
+
+	@Test
+	void startFlushesMessagesLeftFromPreviousDocumentAndResetsSummary() {
+		this.logger.warn("alpha");
+		this.logger.start();
+		assertThat(this.delegate).warnMessages().containsExactly("alpha");
+		this.logger.warn("bravo");
+		this.logger.complete(true);
+		assertThat(this.delegate).warnMessages()
+			.containsExactly("alpha", "bravo",
+					"Configuration property validation logged 1 warning for 1 distinct problem.");
+	}
+
+	@Test
+	void completeWithoutSummaryOnlyFlushes() {
+		this.logger.warn("alpha");
+		this.logger.complete(false);
+		assertThat(this.delegate).warnMessages().containsExactly("alpha");
+	}
+
+}
@@ -76,4 +76,45 @@ class ConfigBlocksGeneratorTests {
 		assertThat(this.out.get(1).getTitle()).isEqualTo("Example (Yaml)");
 	}
 
+	@Test
+	void applyWithSameContentUsesCachedProperties() {
+		this.generator.apply(new ConfigBlock("First", "yaml", "foo: bar"), this.out::add);
+		this.generator.apply(new ConfigBlock("Second", "yaml", "foo: bar"), this.out::add);
+		assertThat(this.out.get(2).getContent()).isSameAs(this.out.get(0).getContent());
+		assertThat(this.out.get(2).getTitle()).isEqualTo("Second (Properties)");
+		assertThat(this.generator.getCacheHits()).isEqualTo(1);
+		assertThat(this.generator.getCacheMisses()).isEqualTo(1);
+		assertThat(this.generator.getCacheHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	void applyWithDifferentContentDoesNotUseCachedProperties() {
+		this.generator.apply(new ConfigBlock(null, "yaml", "foo: bar"), this.out::add);
+		this.generator.apply(new ConfigBlock(null, "yaml", "foo: baz"), this.out::add);
+		assertThat(this.out.get(2).getContent()).containsExactly("foo=baz");
+		assertThat(this.generator.getCacheHits()).isZero();
+	}
+
+	@Test
+	void applyWhenCacheIsFullEvictsLeastRecentlyUsedProperties() {
+		ConfigBlocksGenerator generator = new ConfigBlocksGenerator(16);
+		generator.apply(new ConfigBlock(null, "yaml", "a: alpha"), this.out::add);
+		generator.apply(new ConfigBlock(null, "yaml", "b: bravo"), this.out::add);
+		generator.apply(new ConfigBlock(null, "yaml", "a: alpha"), this.out::add);
+		generator.apply(new ConfigBlock(null, "yaml", "c: charlie"), this.out::add);
+		generator.apply(new ConfigBlock(null, "yaml", "a: alpha"), this.out::add);
+		generator.apply(new ConfigBlock(null, "yaml", "b: bravo"), this.out::add);
+		assertThat(generator.getCacheHits()).isEqualTo(2);
+		assertThat(generator.getCacheMisses()).isEqualTo(4);
+	}
+
+	@Test
+	void applyWhenContentIsLargerThanCacheDoesNotCacheProperties() {
+		ConfigBlocksGenerator generator = new ConfigBlocksGenerator(4);
+		generator.apply(new ConfigBlock(null, "yaml", "foo: bar"), this.out::add);
+		generator.apply(new ConfigBlock(null, "yaml", "foo: bar"), this.out::add);
+		assertThat(generator.getCacheHits()).isZero();
+		assertThat(generator.getCacheMisses()).isEqualTo(2);
+	}
+
 }
@@ -59,6 +59,19 @@ public class ConfigurationBlocksTreeprocessorTests {
 		assertThat(output).contains("class=\"language-properties\"");
 	}
 
+	@Test
+	void generateConfigDataListingsWhenNamedAttributesPrecedeConfigblocks() {
+		String source = "[source,yaml,indent=0,subs=\"verbatim\",configblocks]\n";
+		source += "----\n";
+		source += "example.property.alpha: a\n";
+		source += "----\n";
+		String output = convert(source);
+		assertThat(output).contains("listingblock primary");
+		assertThat(output).contains("listingblock secondary");
+		assertThat(output).contains("example.property.alpha=a");
+		assertThat(output).contains("example.property.alpha: a");
+	}
+
 	private String convert(String source) {
 		Options options = options();
 		options.setSafe(SafeMode.SERVER);
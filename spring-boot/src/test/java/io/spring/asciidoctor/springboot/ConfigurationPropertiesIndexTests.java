@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConfigurationPropertiesIndex} and
+ * {@link ConfigurationPropertiesIndexGenerator}.
+ *
+ * @author Andy Wilkinson
+ */
+class ConfigurationPropertiesIndexTests {
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void indexCanBeUsedInPlaceOfMetadata() throws IOException {
+		ClassLoader classLoader = classLoader("project-a", "project-b");
+		Path index = this.temp.resolve("metadata.idx");
+		ConfigurationPropertiesIndexGenerator.generate(classLoader, index);
+		ConfigurationProperties configurationProperties = ConfigurationProperties.fromClasspath(classLoader, index, 1);
+		assertThat(configurationProperties.size()).isEqualTo(6);
+		assertThat(configurationProperties.find("project.a.alpha").isDeprecated()).isFalse();
+		assertThat(configurationProperties.find("project.a.bravo-property").isDeprecated()).isTrue();
+		assertThat(configurationProperties.find("project.a.charlie").isMap()).isTrue();
+		assertThat(configurationProperties.find("project.a.charlie.beneath-map")).isNotNull();
+		assertThat(configurationProperties.find("project.b.alpha")).isNotNull();
+	}
+
+	@Test
+	void indexIsIgnoredWhenMetadataHasChanged() throws IOException {
+		Path index = this.temp.resolve("metadata.idx");
+		ConfigurationPropertiesIndexGenerator.generate(classLoader("project-a"), index);
+		ConfigurationProperties configurationProperties = ConfigurationProperties
+			.fromClasspath(classLoader("project-a", "project-b"), index, 1);
+		assertThat(configurationProperties.size()).isEqualTo(6);
+	}
+
+	@Test
+	void readWhenChecksumDoesNotMatchReturnsNull() throws IOException {
+		ClassLoader classLoader = classLoader("project-a");
+		Path index = this.temp.resolve("metadata.idx");
+		ConfigurationPropertiesIndexGenerator.generate(classLoader, index);
+		assertThat(ConfigurationPropertiesIndex.read(index, 0)).isNull();
+	}
+
+	@Test
+	void indexIsIgnoredWhenTruncated() throws IOException {
+		ClassLoader classLoader = classLoader("project-a", "project-b");
+		Path index = this.temp.resolve("metadata.idx");
+		ConfigurationPropertiesIndexGenerator.generate(classLoader, index);
+		try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 10);
+		}
+		long checksum = ConfigurationPropertiesIndex
+			.checksum(Collections.list(classLoader.getResources(ConfigurationProperties.METADATA_RESOURCE)));
+		assertThat(ConfigurationPropertiesIndex.read(index, checksum)).isNull();
+		ConfigurationProperties configurationProperties = ConfigurationProperties.fromClasspath(classLoader, index, 1);
+		assertThat(configurationProperties.size()).isEqualTo(6);
+		assertThat(configurationProperties.find("project.b.alpha")).isNotNull();
+	}
+
+	@Test
+	void checksumChangesWhenMetadataFileIsModified() throws IOException {
+		Path metadata = this.temp.resolve("project/" + ConfigurationProperties.METADATA_RESOURCE);
+		Files.createDirectories(metadata.getParent());
+		Files.copy(Paths.get("src/test/resources/metadata/project-a/" + ConfigurationProperties.METADATA_RESOURCE),
+				metadata);
+		List<URL> resources = Collections.singletonList(metadata.toUri().toURL());
+		long checksum = ConfigurationPropertiesIndex.checksum(resources);
+		assertThat(ConfigurationPropertiesIndex.checksum(resources)).isEqualTo(checksum);
+		Files.write(metadata, "{}".getBytes(StandardCharsets.UTF_8));
+		assertThat(ConfigurationPropertiesIndex.checksum(resources)).isNotEqualTo(checksum);
+	}
+
+	@Test
+	void checksumOfMetadataInJarIsStable() throws IOException {
+		Path jar = this.temp.resolve("project.jar");
+		try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+			output.putNextEntry(new JarEntry(ConfigurationProperties.METADATA_RESOURCE));
+			output.write("{}".getBytes(StandardCharsets.UTF_8));
+			output.closeEntry();
+		}
+		ClassLoader classLoader = new URLClassLoader(new URL[] { jar.toUri().toURL() }, null);
+		List<URL> resources = Collections.list(classLoader.getResources(ConfigurationProperties.METADATA_RESOURCE));
+		assertThat(resources).hasSize(1);
+		long checksum = ConfigurationPropertiesIndex.checksum(resources);
+		assertThat(ConfigurationPropertiesIndex.checksum(resources)).isEqualTo(checksum);
+		assertThat(checksum).isNotEqualTo(ConfigurationPropertiesIndex.checksum(Collections.emptyList()));
+	}
+
+	@Test
+	void findOnlyCreatesTheReturnedProperty() throws IOException {
+		ConfigurationPropertiesIndex index = generateAndRead(classLoader("project-a", "project-b"));
+		assertThat(index.size()).isEqualTo(6);
+		assertThat(index.getCreatedCount()).isZero();
+		ConfigurationProperty property = index.find("project.a.charlie.beneath-map");
+		assertThat(property.getName()).isEqualTo("project.a.charlie");
+		assertThat(index.find("project.a.charlie")).isSameAs(property);
+		assertThat(index.find("project.b.alpha")).isNotNull();
+		assertThat(index.getCreatedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void findMatchesFindOfMetadata() throws IOException {
+		ClassLoader classLoader = classLoader("project-a", "project-b");
+		ConfigurationPropertiesIndex index = generateAndRead(classLoader);
+		ConfigurationProperties metadata = ConfigurationProperties.fromClasspath(classLoader, null, 1);
+		for (String name : new String[] { "project.a.alpha", "project.a.alpha[0]", "project.a.charlie[key.with.dots]",
+				"project.a.charlie.beneath-map.deeper", "project.a", "project", "project.a.alpha.beneath",
+				"project.b.alpha", "project.c.alpha", "" }) {
+			ConfigurationProperty expected = metadata.find(name);
+			ConfigurationProperty actual = index.find(name);
+			assertThat((actual != null) ? actual.getName() : null).as(name)
+				.isEqualTo((expected != null) ? expected.getName() : null);
+		}
+	}
+
+	private ConfigurationPropertiesIndex generateAndRead(ClassLoader classLoader) throws IOException {
+		Path index = this.temp.resolve("metadata.idx");
+		ConfigurationPropertiesIndexGenerator.generate(classLoader, index);
+		long checksum = ConfigurationPropertiesIndex
+			.checksum(Collections.list(classLoader.getResources(ConfigurationProperties.METADATA_RESOURCE)));
+		return ConfigurationPropertiesIndex.read(index, checksum);
+	}
+
+	private ClassLoader classLoader(String... projects) throws IOException {
+		URL[] urls = new URL[projects.length];
+		for (int i = 0; i < projects.length; i++) {
+			urls[i] = new File("src/test/resources/metadata/" + projects[i]).toURI().toURL();
+		}
+		return new URLClassLoader(urls, null);
+	}
+
+}
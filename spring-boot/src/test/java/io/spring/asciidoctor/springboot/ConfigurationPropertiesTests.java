@@ -17,11 +17,25 @@
 package io.spring.asciidoctor.springboot;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -32,6 +46,9 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class ConfigurationPropertiesTests {
 
+	@TempDir
+	Path temp;
+
 	@Test
 	void loadMetadataFromSingleSource() throws MalformedURLException {
 		ConfigurationProperties configurationProperties = ConfigurationProperties.fromClasspath(new URLClassLoader(
@@ -56,6 +73,43 @@ class ConfigurationPropertiesTests {
 		assertThat(configurationProperties.find("project.b.charlie")).isNotNull();
 	}
 
+	@Test
+	void loadMetadataWithGroupsAndHints() throws MalformedURLException {
+		ConfigurationProperties configurationProperties = ConfigurationProperties.fromClasspath(new URLClassLoader(
+				new URL[] { new File("src/test/resources/metadata/project-c").toURI().toURL() }, null));
+		assertThat(configurationProperties.size()).isEqualTo(2);
+		assertThat(configurationProperties.find("project.a.alpha").isDeprecated()).isTrue();
+		assertThat(configurationProperties.find("project.c.alpha").isDeprecated()).isFalse();
+	}
+
+	@Test
+	void whenPropertyIsDuplicatedInMultipleSourcesTheFirstIsUsed() throws MalformedURLException {
+		URL projectA = new File("src/test/resources/metadata/project-a").toURI().toURL();
+		URL projectC = new File("src/test/resources/metadata/project-c").toURI().toURL();
+		ConfigurationProperties aThenC = ConfigurationProperties
+			.fromClasspath(new URLClassLoader(new URL[] { projectA, projectC }, null));
+		assertThat(aThenC.size()).isEqualTo(4);
+		assertThat(aThenC.find("project.a.alpha").isDeprecated()).isFalse();
+		ConfigurationProperties cThenA = ConfigurationProperties
+			.fromClasspath(new URLClassLoader(new URL[] { projectC, projectA }, null));
+		assertThat(cThenA.size()).isEqualTo(4);
+		assertThat(cThenA.find("project.a.alpha").isDeprecated()).isTrue();
+	}
+
+	@Test
+	void loadMetadataInParallelMergesInClasspathOrder() throws MalformedURLException {
+		URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { new File("src/test/resources/metadata/project-c").toURI().toURL(),
+						new File("src/test/resources/metadata/project-a").toURI().toURL(),
+						new File("src/test/resources/metadata/project-b").toURI().toURL() },
+				null);
+		ConfigurationProperties configurationProperties = ConfigurationProperties.fromClasspath(classLoader, null, 3);
+		assertThat(configurationProperties.size()).isEqualTo(7);
+		assertThat(configurationProperties.find("project.a.alpha").isDeprecated()).isTrue();
+		assertThat(configurationProperties.find("project.a.charlie").isMap()).isTrue();
+		assertThat(configurationProperties.find("project.b.charlie")).isNotNull();
+	}
+
 	@Test
 	void whenPropertyIsNotDeprecatedInMetadataIsDeprecatedReturnsFalse() throws MalformedURLException {
 		ConfigurationProperties configurationProperties = ConfigurationProperties.fromClasspath(
@@ -114,4 +168,137 @@ class ConfigurationPropertiesTests {
 		assertThat(configurationProperties.find("project.a.delta[2]")).isNull();
 	}
 
+	@Test
+	void getWithSameClassLoaderReturnsSameInstance() throws MalformedURLException {
+		ClassLoader classLoader = new URLClassLoader(
+				new URL[] { new File("src/test/resources/metadata/project-a").toURI().toURL() }, null);
+		ConfigurationProperties configurationProperties = ConfigurationProperties.get(classLoader);
+		assertThat(configurationProperties.size()).isEqualTo(3);
+		assertThat(ConfigurationProperties.get(classLoader)).isSameAs(configurationProperties);
+	}
+
+	@Test
+	void getWithDifferentClassLoadersReturnsDifferentInstances() throws MalformedURLException {
+		URL[] urls = new URL[] { new File("src/test/resources/metadata/project-a").toURI().toURL() };
+		assertThat(ConfigurationProperties.get(new URLClassLoader(urls, null)))
+			.isNotSameAs(ConfigurationProperties.get(new URLClassLoader(urls, null)));
+	}
+
+	@Test
+	void getWithClassLoaderDoesNotWaitForAnotherClassLoaderToLoad() throws Exception {
+		URL[] urls = new URL[] { new File("src/test/resources/metadata/project-a").toURI().toURL() };
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ClassLoader blocking = new URLClassLoader(urls, null) {
+
+			@Override
+			public Enumeration<URL> getResources(String name) throws IOException {
+				loading.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getResources(name);
+			}
+
+		};
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<ConfigurationProperties> blocked = executor.submit(() -> ConfigurationProperties.get(blocking));
+			assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(ConfigurationProperties.get(new URLClassLoader(urls, null)).size()).isEqualTo(3);
+			assertThat(blocked).isNotDone();
+			release.countDown();
+			assertThat(blocked.get(10, TimeUnit.SECONDS).size()).isEqualTo(3);
+		}
+		finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void loadMetadataFromFileLocation() {
+		ConfigurationProperties configurationProperties = ConfigurationProperties
+			.fromLocations("src/test/resources/metadata/project-a/META-INF/spring-configuration-metadata.json");
+		assertThat(configurationProperties.size()).isEqualTo(3);
+		assertThat(configurationProperties.find("project.a.alpha")).isNotNull();
+	}
+
+	@Test
+	void loadMetadataFromDirectoryLocations() {
+		ConfigurationProperties configurationProperties = ConfigurationProperties
+			.fromLocations("src/test/resources/metadata/project-a, src/test/resources/metadata/project-b");
+		assertThat(configurationProperties.size()).isEqualTo(6);
+		assertThat(configurationProperties.find("project.a.alpha")).isNotNull();
+		assertThat(configurationProperties.find("project.b.alpha")).isNotNull();
+	}
+
+	@Test
+	void loadMetadataFromJarLocation() throws IOException {
+		Path jar = this.temp.resolve("project-a.jar");
+		try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(jar))) {
+			output.putNextEntry(new ZipEntry("META-INF/spring-configuration-metadata.json"));
+			copy("project-a", output);
+			output.closeEntry();
+		}
+		ConfigurationProperties configurationProperties = ConfigurationProperties.fromLocations(jar.toString());
+		assertThat(configurationProperties.size()).isEqualTo(3);
+		assertThat(configurationProperties.find("project.a.charlie").isMap()).isTrue();
+	}
+
+	@Test
+	void loadMetadataFromExecutableJarLocation() throws IOException {
+		Path jar = this.temp.resolve("application.jar");
+		try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(jar))) {
+			output.putNextEntry(new ZipEntry("BOOT-INF/classes/META-INF/spring-configuration-metadata.json"));
+			copy("project-a", output);
+			output.closeEntry();
+			output.putNextEntry(new ZipEntry("BOOT-INF/lib/project-b.jar"));
+			ZipOutputStream nested = new ZipOutputStream(output);
+			nested.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+			nested.closeEntry();
+			nested.putNextEntry(new ZipEntry("META-INF/spring-configuration-metadata.json"));
+			copy("project-b", nested);
+			nested.closeEntry();
+			nested.finish();
+			output.closeEntry();
+		}
+		ConfigurationProperties configurationProperties = ConfigurationProperties.fromLocations(jar.toString());
+		assertThat(configurationProperties.size()).isEqualTo(6);
+		assertThat(configurationProperties.find("project.a.alpha")).isNotNull();
+		assertThat(configurationProperties.find("project.b.alpha")).isNotNull();
+	}
+
+	@Test
+	void getWithSameLocationsReturnsSameInstance() {
+		String locations = "src/test/resources/metadata/project-a";
+		assertThat(ConfigurationProperties.get(locations)).isSameAs(ConfigurationProperties.get(locations));
+	}
+
+	@Test
+	void getWhenMetadataAtLocationHasChangedReloadsMetadata() throws IOException {
+		Path metadata = this.temp.resolve("metadata.json");
+		try (OutputStream output = Files.newOutputStream(metadata)) {
+			copy("project-a", output);
+		}
+		ConfigurationProperties configurationProperties = ConfigurationProperties.get(metadata.toString());
+		assertThat(configurationProperties.find("project.a.alpha")).isNotNull();
+		try (OutputStream output = Files.newOutputStream(metadata)) {
+			copy("project-b", output);
+			output.write('\n');
+		}
+		ConfigurationProperties reloaded = ConfigurationProperties.get(metadata.toString());
+		assertThat(reloaded).isNotSameAs(configurationProperties);
+		assertThat(reloaded.find("project.a.alpha")).isNull();
+		assertThat(reloaded.find("project.b.alpha")).isNotNull();
+	}
+
+	private void copy(String project, OutputStream output) throws IOException {
+		Files.copy(Paths.get("src/test/resources/metadata/" + project + "/META-INF/spring-configuration-metadata.json"),
+				output);
+	}
+
 }
@@ -85,6 +85,22 @@ class ConfigurationPropertiesTreeprocessorTests {
 			.containsExactlyInAnyOrder(Severity.DEBUG, Severity.DEBUG, Severity.WARN);
 	}
 
+	@Test
+	void whenNamedAttributesPrecedeConfigpropsTheListingIsValidated() {
+		convert("[source,yaml,indent=0,subs=\"verbatim\",configprops]\n" + //
+				"----\n" + //
+				"example:\n" + //
+				"  property:\n" + //
+				"    alpha: a\n" + //
+				"does:\n" + //
+				"  not:\n" + //
+				"    exist: b\n" + //
+				"----");
+		assertThat(this.logRecords).hasSize(2);
+		assertThat(this.logRecords).extracting(LogRecord::getSeverity)
+			.containsExactlyInAnyOrder(Severity.DEBUG, Severity.WARN);
+	}
+
 	@Test
 	void aListingWithoutConfigpropsIsNotValidated() {
 		convert("[source,properties]\n" + //
@@ -106,6 +122,35 @@ class ConfigurationPropertiesTreeprocessorTests {
 				"Monitor:: Displays information in visual form using text and graphics.\n");
 	}
 
+	@Test
+	void aListingNestedInOtherBlocksIsValidated() {
+		convert("****\n" + //
+				"====\n" + //
+				"* List item\n" + //
+				"+\n" + //
+				"[source,properties,configprops]\n" + //
+				"----\n" + //
+				"does.not.exist=b\n" + //
+				"----\n" + //
+				"====\n" + //
+				"****");
+		assertThat(this.logRecords).extracting(LogRecord::getSeverity).containsExactly(Severity.WARN);
+	}
+
+	@Test
+	void whenAListingHasConfigpropsAndConfigblocksItIsValidatedAndConverted() {
+		String output = convert("[source,yaml,configprops,configblocks]\n" + //
+				"----\n" + //
+				"example:\n" + //
+				"  property:\n" + //
+				"    alpha: a\n" + //
+				"does.not.exist: b\n" + //
+				"----");
+		assertThat(output).contains("example.property.alpha=a");
+		assertThat(this.logRecords).extracting(LogRecord::getSeverity)
+			.containsExactlyInAnyOrder(Severity.DEBUG, Severity.WARN);
+	}
+
 	private String convert(String source) {
 		Options options = options();
 		options.setSafe(SafeMode.SERVER);
@@ -125,10 +125,92 @@ class ConfigurationPropertyInlineMacroProcessorTests {
 			.containsExactly("Configuration property 'example.property.charlie' is not deprecated.");
 	}
 
+	@Test
+	void whenMetadataLocationIsSpecifiedPropertiesAreValidatedAgainstThatMetadata() {
+		assertThat(convert(":spring-boot-metadata-location: src/test/resources/metadata/project-a\n\n"
+				+ "configprop:project.a.alpha[] configprop:example.property.alpha[]"))
+			.contains("<code>project.a.alpha</code>");
+		assertThat(this.logRecords).extracting(LogRecord::getMessage)
+			.containsExactly("Configuration property 'project.a.alpha' successfully validated.",
+					"Configuration property 'example.property.alpha' not found.");
+	}
+
+	@Test
+	void whenMetadataLocationIsRelativeItIsResolvedAgainstTheDocumentDirectory() {
+		Options options = options();
+		options.setSafe(SafeMode.SERVER);
+		options.setBaseDir("src/test/resources");
+		assertThat(this.asciidoctor.convert(
+				":spring-boot-metadata-location: metadata/project-a\n\nconfigprop:project.a.alpha[]", options))
+			.contains("<code>project.a.alpha</code>");
+		assertThat(this.logRecords).extracting(LogRecord::getMessage)
+			.containsExactly("Configuration property 'project.a.alpha' successfully validated.");
+	}
+
+	@Test
+	void whenPropertyThatDoesNotExistIsReferencedRepeatedlyASingleWarningIsLogged() {
+		convert("configprop:does.not.exist[] configprop:does.not.exist[] configprop:does.not.exist[]");
+		assertThat(this.logRecords).extracting(LogRecord::getMessage)
+			.containsExactly("Configuration property 'does.not.exist' not found. (3 occurrences)");
+	}
+
+	@Test
+	void whenValidationSummaryIsEnabledASummaryIsLogged() {
+		convert(":spring-boot-validation-summary:\n\nconfigprop:does.not.exist[] configprop:does.not.exist[]");
+		assertThat(this.logRecords).extracting(LogRecord::getMessage)
+			.containsExactly("Configuration property 'does.not.exist' not found. (2 occurrences)",
+					"Configuration property validation logged 2 warnings for 1 distinct problem.");
+	}
+
+	@Test
+	void whenLogLevelIsInfoDebugMessagesAreNotLogged() {
+		withLogLevel("info", () -> {
+			Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+			asciidoctor.registerLogHandler(this.logRecords::add);
+			assertThat(convert(asciidoctor, "configprop:example.property.alpha[] configprop:does.not.exist[]"))
+				.contains("<code>example.property.alpha</code>");
+			assertThat(this.logRecords).extracting(LogRecord::getMessage)
+				.containsExactly("Configuration property 'does.not.exist' not found.");
+		});
+	}
+
+	@Test
+	void whenLogLevelIsNotRecognizedTheDefaultIsUsed() {
+		withLogLevel("loud", () -> {
+			Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+			asciidoctor.registerLogHandler(this.logRecords::add);
+			assertThat(convert(asciidoctor, "configprop:example.property.alpha[] configprop:does.not.exist[]"))
+				.contains("<code>example.property.alpha</code>");
+			assertThat(this.logRecords).extracting(LogRecord::getMessage)
+				.containsExactly("Configuration property 'example.property.alpha' successfully validated.",
+						"Configuration property 'does.not.exist' not found.");
+		});
+	}
+
+	private void withLogLevel(String level, Runnable action) {
+		String logLevel = System.getProperty(SpringBootExtensionRegistry.LOG_LEVEL_PROPERTY);
+		System.setProperty(SpringBootExtensionRegistry.LOG_LEVEL_PROPERTY, level);
+		try {
+			action.run();
+		}
+		finally {
+			if (logLevel != null) {
+				System.setProperty(SpringBootExtensionRegistry.LOG_LEVEL_PROPERTY, logLevel);
+			}
+			else {
+				System.clearProperty(SpringBootExtensionRegistry.LOG_LEVEL_PROPERTY);
+			}
+		}
+	}
+
 	private String convert(String source) {
+		return convert(this.asciidoctor, source);
+	}
+
+	private String convert(Asciidoctor asciidoctor, String source) {
 		Options options = options();
 		options.setSafe(SafeMode.SERVER);
-		return this.asciidoctor.convert(source, options);
+		return asciidoctor.convert(source, options);
 	}
 
 	@SuppressWarnings("deprecation")
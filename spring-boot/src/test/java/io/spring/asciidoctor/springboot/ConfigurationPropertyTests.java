@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConfigurationProperty}.
+ *
+ * @author Andy Wilkinson
+ */
+class ConfigurationPropertyTests {
+
+	// Sizes in bytes on a 64-bit JVM with compressed references and class pointers
+
+	private static final int OBJECT_HEADER = 12;
+
+	private static final int ARRAY_HEADER = 16;
+
+	private static final int REFERENCE = 4;
+
+	@Test
+	void getNameReturnsName() {
+		assertThat(new ConfigurationProperty("spring.datasource.url", "java.lang.String", false).getName())
+			.isEqualTo("spring.datasource.url");
+	}
+
+	@Test
+	void segmentsAreSharedBetweenProperties() {
+		ConfigurationProperty url = new ConfigurationProperty("spring.datasource.url", "java.lang.String", false);
+		ConfigurationProperty username = new ConfigurationProperty(new String("spring.datasource.username"),
+				"java.lang.String", false);
+		assertThat(url.getSegments()).hasSize(3);
+		assertThat(username.getSegments()).hasSize(3);
+		assertThat(url.getSegments()[0]).isSameAs(username.getSegments()[0]);
+		assertThat(url.getSegments()[1]).isSameAs(username.getSegments()[1]);
+	}
+
+	@Test
+	void footprintIsSmallerThanHoldingNameAndTypeStrings() {
+		List<ConfigurationProperty> properties = new ArrayList<>();
+		long stringsFootprint = 0;
+		for (String prefix : new String[] { "spring.datasource", "spring.jpa.properties", "server.tomcat",
+				"management.endpoint.health", "spring.kafka.consumer" }) {
+			for (int i = 0; i < 100; i++) {
+				String name = prefix + ".example-property-" + i;
+				String type = "java.lang.String";
+				properties.add(new ConfigurationProperty(name, type, false));
+				stringsFootprint += align(OBJECT_HEADER + (2 * REFERENCE) + 1) + stringFootprint(name)
+						+ stringFootprint(type);
+			}
+		}
+		Set<String> segments = Collections.newSetFromMap(new IdentityHashMap<>());
+		long footprint = 0;
+		for (ConfigurationProperty property : properties) {
+			footprint += align(OBJECT_HEADER + REFERENCE + 1)
+					+ align(ARRAY_HEADER + (REFERENCE * property.getSegments().length));
+			for (String segment : property.getSegments()) {
+				if (segments.add(segment)) {
+					footprint += stringFootprint(segment);
+				}
+			}
+		}
+		System.out.printf("Bytes per property: %d (%d holding name and type strings)%n",
+				footprint / properties.size(), stringsFootprint / properties.size());
+		assertThat(footprint).isLessThan(stringsFootprint / 2);
+	}
+
+	@Test
+	void whenTypeIsAMapIsMapReturnsTrue() {
+		ConfigurationProperty property = new ConfigurationProperty("example",
+				"java.util.Map<java.lang.String,java.lang.String>", false);
+		assertThat(property.isMap()).isTrue();
+		assertThat(property.isCollection()).isFalse();
+	}
+
+	@Test
+	void whenTypeIsACollectionIsCollectionReturnsTrue() {
+		assertThat(new ConfigurationProperty("example", "java.util.List<java.lang.String>", false).isCollection())
+			.isTrue();
+		assertThat(new ConfigurationProperty("example", "java.util.Set<java.lang.String>", false).isCollection())
+			.isTrue();
+		assertThat(new ConfigurationProperty("example", "java.lang.String[]", false).isCollection()).isTrue();
+		assertThat(new ConfigurationProperty("example", "java.lang.String", false).isCollection()).isFalse();
+	}
+
+	@Test
+	void whenTypeIsNullFlagsAreNotSet() {
+		ConfigurationProperty property = new ConfigurationProperty("example", null, false);
+		assertThat(property.isMap()).isFalse();
+		assertThat(property.isCollection()).isFalse();
+		assertThat(property.isDeprecated()).isFalse();
+	}
+
+	@Test
+	void whenDeprecatedIsDeprecatedReturnsTrue() {
+		ConfigurationProperty property = new ConfigurationProperty("example",
+				"java.util.Map<java.lang.String,java.lang.String>", true);
+		assertThat(property.isDeprecated()).isTrue();
+		assertThat(property.isMap()).isTrue();
+	}
+
+	private static long stringFootprint(String string) {
+		return align(OBJECT_HEADER + REFERENCE + 8) + align(ARRAY_HEADER + string.length());
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7;
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConfigurationPropertyTree}.
+ *
+ * @author Andy Wilkinson
+ */
+class ConfigurationPropertyTreeTests {
+
+	private static final String MAP_TYPE = "java.util.Map<java.lang.String,java.lang.String>";
+
+	private final ConfigurationPropertyTree tree = new ConfigurationPropertyTree();
+
+	@Test
+	void findWithExactNameReturnsProperty() {
+		ConfigurationProperty property = add("spring.datasource.url", "java.lang.String");
+		add("spring.datasource.username", "java.lang.String");
+		assertThat(this.tree.find("spring.datasource.url")).isSameAs(property);
+	}
+
+	@Test
+	void findWithPrefixOfNameReturnsNull() {
+		add("spring.datasource.url", "java.lang.String");
+		assertThat(this.tree.find("spring.datasource")).isNull();
+		assertThat(this.tree.find("spring.data")).isNull();
+	}
+
+	@Test
+	void findWithIndexReturnsProperty() {
+		ConfigurationProperty property = add("spring.profiles.include", "java.util.List<java.lang.String>");
+		assertThat(this.tree.find("spring.profiles.include[0]")).isSameAs(property);
+	}
+
+	@Test
+	void findWithMapKeyReturnsMapProperty() {
+		ConfigurationProperty property = add("spring.datasource.hikari.data-source-properties", MAP_TYPE);
+		assertThat(this.tree.find("spring.datasource.hikari.data-source-properties.cache-prep-stmts"))
+			.isSameAs(property);
+		assertThat(this.tree.find("spring.datasource.hikari.data-source-properties[key.with.dots]"))
+			.isSameAs(property);
+	}
+
+	@Test
+	void findWithMapKeyReturnsClosestMapAncestor() {
+		add("example.outer", MAP_TYPE);
+		ConfigurationProperty inner = add("example.outer.inner", MAP_TYPE);
+		assertThat(this.tree.find("example.outer.inner.key")).isSameAs(inner);
+	}
+
+	@Test
+	void findWithChildOfNonMapPropertyReturnsNull() {
+		add("example.alpha", "java.lang.String");
+		assertThat(this.tree.find("example.alpha.beneath")).isNull();
+	}
+
+	@Test
+	void addWhenPropertyWithSameNameHasAlreadyBeenAddedIgnoresProperty() {
+		ConfigurationProperty first = add("example.alpha", "java.lang.String");
+		assertThat(this.tree.add(new ConfigurationProperty("example.alpha", "java.lang.String", true))).isFalse();
+		assertThat(this.tree.find("example.alpha")).isSameAs(first);
+		assertThat(this.tree.size()).isEqualTo(1);
+	}
+
+	@Test
+	void forEachVisitsEveryProperty() {
+		add("example.bravo", "java.lang.String");
+		add("example", "java.lang.String");
+		add("example.alpha", "java.lang.String");
+		List<String> names = new ArrayList<>();
+		this.tree.forEach((property) -> names.add(property.getName()));
+		assertThat(names).containsExactly("example", "example.alpha", "example.bravo");
+	}
+
+	private ConfigurationProperty add(String name, String type) {
+		ConfigurationProperty property = new ConfigurationProperty(name, type, false);
+		this.tree.add(property);
+		return property;
+	}
+
+}
@@ -17,10 +17,16 @@
 package io.spring.asciidoctor.springboot;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.spring.asciidoctor.springboot.ConfigurationPropertyValidator.Outcome;
 import io.spring.asciidoctor.springboot.ValidationSettings.Format;
 import org.junit.jupiter.api.Test;
 
@@ -102,4 +108,130 @@ class ConfigurationPropertyValidatorTests {
 			.containsExactly("Configuration property 'project.a.charlie.beneath-map' successfully validated.");
 	}
 
+	@Test
+	void configurationPropertiesAreLoadedWhenFirstNeeded() {
+		AtomicInteger loads = new AtomicInteger();
+		ConfigurationProperties configurationProperties = ConfigurationProperties
+			.fromClasspath(getClass().getClassLoader());
+		ConfigurationPropertyValidator validator = new ConfigurationPropertyValidator(this.logger, () -> {
+			loads.incrementAndGet();
+			return configurationProperties;
+		});
+		assertThat(loads).hasValue(0);
+		validator.validateProperty("example.property.alpha", ValidationSettings.DEFAULT);
+		assertThat(loads).hasValue(1);
+		validator.validateProperty("example.property.bravo", ValidationSettings.DEFAULT);
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void whenMetadataLocationIsSpecifiedPropertiesAreValidatedAgainstThatMetadata() {
+		ConfigurationPropertyValidator validator = this.validator
+			.withMetadataLocation("src/test/resources/metadata/project-b");
+		validator.validateProperty("project.b.alpha", ValidationSettings.DEFAULT);
+		validator.validateProperty("project.a.alpha", ValidationSettings.DEFAULT);
+		assertThat(this.logger).debugMessages()
+			.containsExactly("Configuration property 'project.b.alpha' successfully validated.");
+		assertThat(this.logger).warnMessages().containsExactly("Configuration property 'project.a.alpha' not found.");
+	}
+
+	@Test
+	void whenMetadataLocationIsRelativeItIsResolvedAgainstTheBaseDirectory() {
+		ConfigurationPropertyValidator validator = this.validator.withMetadataLocation("metadata/project-b",
+				"src/test/resources");
+		validator.validateProperty("project.b.alpha", ValidationSettings.DEFAULT);
+		assertThat(this.logger).debugMessages()
+			.containsExactly("Configuration property 'project.b.alpha' successfully validated.");
+	}
+
+	@Test
+	void whenMetadataLocationIsNullThenValidatorIsReturned() {
+		assertThat(this.validator.withMetadataLocation(null)).isSameAs(this.validator);
+	}
+
+	@Test
+	void whenPropertyIsValidatedRepeatedlyResultIsCachedAndMessageIsLoggedEachTime() {
+		this.validator.validateProperty("project.a.alpha", ValidationSettings.DEFAULT);
+		this.validator.validateProperty("project.a.alpha", ValidationSettings.DEFAULT);
+		this.validator.validateProperty("project.a.alpha", new ValidationSettings(false, Format.ENVIRONMENT_VARIABLE));
+		assertThat(this.validator.getCacheHits()).isEqualTo(1);
+		assertThat(this.validator.getCacheMisses()).isEqualTo(2);
+		assertThat(this.logger).debugMessages().hasSize(3);
+	}
+
+	@Test
+	void whenCacheIsFullLeastRecentlyUsedResultIsEvicted() {
+		ConfigurationProperties configurationProperties = ConfigurationProperties
+			.fromClasspath(getClass().getClassLoader());
+		ConfigurationPropertyValidator validator = new ConfigurationPropertyValidator(this.logger,
+				() -> configurationProperties, 2);
+		validator.validateProperty("example.alpha", ValidationSettings.DEFAULT);
+		validator.validateProperty("example.bravo", ValidationSettings.DEFAULT);
+		validator.validateProperty("example.alpha", ValidationSettings.DEFAULT);
+		validator.validateProperty("example.charlie", ValidationSettings.DEFAULT);
+		validator.validateProperty("example.alpha", ValidationSettings.DEFAULT);
+		validator.validateProperty("example.bravo", ValidationSettings.DEFAULT);
+		assertThat(validator.getCacheHits()).isEqualTo(2);
+		assertThat(validator.getCacheMisses()).isEqualTo(4);
+	}
+
+	@Test
+	void validateReturnsSortedAndDeduplicatedReportWithoutLogging() {
+		ValidationReport report = this.validator.validate(
+				Arrays.asList("project.a.delta", "project.a.alpha", "project.a.charlie.beneath-map", "project.a.alpha"),
+				new ValidationSettings(false, Format.ENVIRONMENT_VARIABLE));
+		assertThat(report.getEntries()).extracting(ValidationReport.Entry::getPropertyName)
+			.containsExactly("project.a.alpha", "project.a.charlie.beneath-map", "project.a.delta");
+		assertThat(report.getEntries()).extracting(ValidationReport.Entry::getFormattedName)
+			.containsExactly("PROJECT_A_ALPHA", "PROJECT_A_CHARLIE_BENEATHMAP", "PROJECT_A_DELTA");
+		assertThat(report.getEntries()).extracting(ValidationReport.Entry::getOutcome)
+			.containsExactly(Outcome.VALIDATED, Outcome.VALIDATED, Outcome.NOT_FOUND);
+		assertThat(report.getEntry("project.a.alpha").getCanonicalName()).isEqualTo("project.a.alpha");
+		assertThat(report.getEntry("project.a.delta").getMessage())
+			.isEqualTo("Configuration property 'project.a.delta' not found.");
+		assertThat(report.getEntry("project.a.bravo-property")).isNull();
+		assertThat(report.getEntries(Outcome.NOT_FOUND)).hasSize(1);
+		assertThat(report.isValid()).isFalse();
+		assertThat(this.logger).debugMessages().isEmpty();
+		assertThat(this.logger).warnMessages().isEmpty();
+	}
+
+	@Test
+	void whenPropertyWithIndexIsValidatedTheCanonicalNameDoesNotHaveTheIndex() {
+		ValidationReport report = this.validator.validate(Arrays.asList("project.a.alpha[0]", "project.a.charlie[a]"),
+				ValidationSettings.DEFAULT);
+		assertThat(report.getEntry("project.a.alpha[0]").getCanonicalName()).isEqualTo("project.a.alpha");
+		assertThat(report.getEntry("project.a.charlie[a]").getCanonicalName()).isEqualTo("project.a.charlie[a]");
+	}
+
+	@Test
+	void validateReusesTheMessageOfTheCachedResult() {
+		List<String> names = Collections.singletonList("project.a.delta");
+		ValidationReport.Entry entry = this.validator.validate(names, ValidationSettings.DEFAULT)
+			.getEntry("project.a.delta");
+		String message = entry.getMessage();
+		assertThat(entry.getMessage()).isSameAs(message);
+		assertThat(this.validator.validate(names, ValidationSettings.DEFAULT).getEntry("project.a.delta").getMessage())
+			.isSameAs(message);
+	}
+
+	@Test
+	void validateContentReturnsReportForEachProperty() throws IOException {
+		ValidationReport report = this.validator.validate("project:\n  a:\n    alpha: a\n    bravo-property: b",
+				"yaml");
+		assertThat(report.getEntries()).extracting(ValidationReport.Entry::getOutcome)
+			.containsExactly(Outcome.VALIDATED, Outcome.DEPRECATED);
+	}
+
+	@Test
+	void whenDebugIsDisabledValidatedPropertiesAreNotLogged() {
+		TestLogger logger = new TestLogger(false);
+		ConfigurationPropertyValidator validator = new ConfigurationPropertyValidator(logger,
+				ConfigurationProperties.fromLocations("src/test/resources/metadata/project-a"));
+		validator.validateProperty("project.a.alpha", ValidationSettings.DEFAULT);
+		validator.validateProperty("project.a.delta", ValidationSettings.DEFAULT);
+		assertThat(logger).debugMessages().isEmpty();
+		assertThat(logger).warnMessages().containsExactly("Configuration property 'project.a.delta' not found.");
+	}
+
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.ast.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DocumentValidators}.
+ *
+ * @author Andy Wilkinson
+ */
+class DocumentValidatorsTests {
+
+	private final Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+
+	private final DocumentValidators validators = new DocumentValidators(
+			new ConfigurationPropertyValidator(new TestLogger()));
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void getWhenDocumentHasNoMetadataLocationReturnsValidator() {
+		Document document = load("configprop:example.property.alpha[]");
+		assertThat(this.validators.get(document)).isSameAs(this.validators.get(document));
+	}
+
+	@Test
+	void getWhenMetadataChangesDuringDocumentReturnsSameValidatorUntilNextDocument() throws IOException {
+		Path metadata = this.temp.resolve(ConfigurationProperties.METADATA_RESOURCE);
+		Files.createDirectories(metadata.getParent());
+		write(metadata, "project.a.alpha");
+		String source = ":spring-boot-metadata-location: " + this.temp + "\n\nconfigprop:project.a.alpha[]";
+		Document document = load(source);
+		ConfigurationPropertyValidator validator = this.validators.get(document);
+		write(metadata, "project.a.alpha-changed");
+		assertThat(this.validators.get(document)).isSameAs(validator);
+		Document next = load(source);
+		ConfigurationPropertyValidator nextValidator = this.validators.get(next);
+		assertThat(nextValidator).isNotSameAs(validator);
+		assertThat(this.validators.get(next)).isSameAs(nextValidator);
+	}
+
+	private void write(Path metadata, String name) throws IOException {
+		Files.write(metadata, ("{\"properties\":[{\"name\":\"" + name + "\"}]}").getBytes(StandardCharsets.UTF_8));
+	}
+
+	@SuppressWarnings("deprecation")
+	private Document load(String source) {
+		return this.asciidoctor.load(source, new Options());
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NodeAttributes}.
+ *
+ * @author Andy Wilkinson
+ */
+class NodeAttributesTests {
+
+	@Test
+	void hasPositionalWhenValueIsAPositionalAttributeReturnsTrue() {
+		NodeAttributes attributes = attributes("source", "properties", "configprops");
+		assertThat(attributes.hasPositional("configprops")).isTrue();
+		assertThat(attributes.hasPositional("source")).isTrue();
+	}
+
+	@Test
+	void hasPositionalWhenFirstPositionalAttributeIsEmptyReturnsTrue() {
+		NodeAttributes attributes = attributes(null, "yaml", "configprops");
+		assertThat(attributes.hasPositional("configprops")).isTrue();
+	}
+
+	@Test
+	void hasPositionalWhenNamedAttributesPrecedeThePositionalAttributeReturnsTrue() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("1", "source");
+		map.put("2", "yaml");
+		map.put("indent", "0");
+		map.put("subs", "verbatim");
+		map.put("5", "configprops");
+		assertThat(new NodeAttributes(map).hasPositional("configprops")).isTrue();
+	}
+
+	@Test
+	void hasPositionalWhenValueIsANamedAttributeReturnsFalse() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("role", "configprops");
+		assertThat(new NodeAttributes(map).hasPositional("configprops")).isFalse();
+	}
+
+	@Test
+	void hasPositionalWhenThereAreNoAttributesReturnsFalse() {
+		assertThat(new NodeAttributes(new HashMap<>()).hasPositional("configprops")).isFalse();
+	}
+
+	@Test
+	void hasPositionalWhenThereAreManyAttributesBoundsTheLookups() {
+		AtomicInteger lookups = new AtomicInteger();
+		Map<String, Object> map = new HashMap<String, Object>() {
+
+			@Override
+			public Object get(Object key) {
+				lookups.incrementAndGet();
+				return super.get(key);
+			}
+
+		};
+		map.put("1", "source");
+		for (int i = 0; i < 500; i++) {
+			map.put("attribute-" + i, "value");
+		}
+		NodeAttributes attributes = new NodeAttributes(map);
+		assertThat(attributes.hasPositional("configprops")).isFalse();
+		assertThat(attributes.hasPositional("source")).isTrue();
+		assertThat(lookups).hasValue(NodeAttributes.MAX_INDEX);
+	}
+
+	@Test
+	void getReturnsNamedAttribute() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("language", "yaml");
+		assertThat(new NodeAttributes(map).get("language")).isEqualTo("yaml");
+	}
+
+	private NodeAttributes attributes(String... positional) {
+		Map<String, Object> map = new HashMap<>();
+		for (int i = 0; i < positional.length; i++) {
+			if (positional[i] != null) {
+				map.put(Integer.toString(i + 1), positional[i]);
+			}
+		}
+		return new NodeAttributes(map);
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertiesWriter}.
+ *
+ * @author Andy Wilkinson
+ */
+class PropertiesWriterTests {
+
+	private final List<String> lines = new ArrayList<>();
+
+	private final PropertiesWriter writer = new PropertiesWriter(this.lines);
+
+	@Test
+	void writeLineWritesLineAsIs() {
+		this.writer.writeLine("# A comment");
+		assertThat(this.lines).containsExactly("# A comment");
+	}
+
+	@Test
+	void writePropertyEscapesName() {
+		this.writer.writeProperty("example[a b:c=d]", "value");
+		assertThat(this.lines).containsExactly("example[a\\ b\\:c\\=d]=value");
+	}
+
+	@Test
+	void writePropertyDoesNotEscapeColonOrEqualsInValue() {
+		this.writer.writeProperty("example", "optional:classpath:a=b");
+		assertThat(this.lines).containsExactly("example=optional:classpath:a=b");
+	}
+
+	@Test
+	void writePropertyEscapesValue() {
+		this.writer.writeProperty("example", " a\tb\\c #d !e");
+		assertThat(this.lines).containsExactly("example=\\ a\\tb\\\\c \\#d \\!e");
+	}
+
+	@Test
+	void writePropertyWithMultilineValueUsesLineContinuations() {
+		this.writer.writeProperty("example", "alpha\nbravo\n");
+		assertThat(this.lines).containsExactly("example=\\", "alpha\\n\\", "bravo\\n");
+	}
+
+	@Test
+	void writePropertyWithMultilineValueWithoutTrailingLineBreak() {
+		this.writer.writeProperty("example", "alpha\n\nbravo");
+		assertThat(this.lines).containsExactly("example=\\", "alpha\\n\\", "\\n\\", "bravo");
+	}
+
+}
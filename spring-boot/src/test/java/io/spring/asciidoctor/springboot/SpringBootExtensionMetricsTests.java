@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.Arrays;
+
+import io.spring.asciidoctor.springboot.ConfigurationPropertyValidator.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SpringBootExtensionMetrics}.
+ *
+ * @author Andy Wilkinson
+ */
+class SpringBootExtensionMetricsTests {
+
+	private final TestSpringBootExtensionMetrics metrics = (TestSpringBootExtensionMetrics) SpringBootExtensionMetrics
+		.get();
+
+	@BeforeEach
+	void resetMetrics() {
+		this.metrics.reset();
+	}
+
+	@Test
+	void getReturnsImplementationFromServiceLoader() {
+		assertThat(SpringBootExtensionMetrics.get()).isInstanceOf(TestSpringBootExtensionMetrics.class);
+	}
+
+	@Test
+	void loadingMetadataRecordsPropertyCount() {
+		ConfigurationProperties.fromLocations("src/test/resources/metadata/project-a");
+		assertThat(this.metrics.metadataLoads).containsExactly(3);
+	}
+
+	@Test
+	void validatingPropertiesRecordsOutcomesAndCacheUse() {
+		ConfigurationPropertyValidator validator = new ConfigurationPropertyValidator(new TestLogger(),
+				ConfigurationProperties.fromLocations("src/test/resources/metadata/project-a"));
+		validator.validate(Arrays.asList("project.a.alpha", "project.a.delta"), ValidationSettings.DEFAULT);
+		validator.validateProperty("project.a.alpha", ValidationSettings.DEFAULT);
+		assertThat(this.metrics.validations).containsExactly(Outcome.VALIDATED, Outcome.NOT_FOUND, Outcome.VALIDATED);
+		assertThat(this.metrics.cachedValidations).containsExactly(false, false, true);
+	}
+
+	@Test
+	void convertingYamlRecordsConversion() {
+		new ConfigBlocksGenerator().apply(new ConfigBlock(null, "yaml", "example: a"), (block) -> {
+		});
+		assertThat(this.metrics.yamlConversions).hasSize(1);
+	}
+
+	@Test
+	void generatingConfigBlocksRecordsCacheUse() {
+		ConfigBlocksGenerator generator = new ConfigBlocksGenerator();
+		generator.apply(new ConfigBlock(null, "yaml", "example: a"), (block) -> {
+		});
+		generator.apply(new ConfigBlock(null, "yaml", "example: a"), (block) -> {
+		});
+		assertThat(this.metrics.cachedConfigBlocksConversions).containsExactly(false, true);
+		assertThat(this.metrics.yamlConversions).hasSize(1);
+	}
+
+}
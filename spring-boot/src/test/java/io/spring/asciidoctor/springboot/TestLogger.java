@@ -35,6 +35,16 @@ public class TestLogger implements Logger, AssertProvider<TestLogger.Assert> {
 
 	private final List<String> debugMessages = new ArrayList<>();
 
+	private final boolean debugEnabled;
+
+	public TestLogger() {
+		this(true);
+	}
+
+	public TestLogger(boolean debugEnabled) {
+		this.debugEnabled = debugEnabled;
+	}
+
 	@Override
 	public void warn(String message) {
 		this.warnMessages.add(message);
@@ -45,6 +55,11 @@ public class TestLogger implements Logger, AssertProvider<TestLogger.Assert> {
 		this.debugMessages.add(message);
 	}
 
+	@Override
+	public boolean isDebugEnabled() {
+		return this.debugEnabled;
+	}
+
 	@Override
 	public Assert assertThat() {
 		return new Assert();
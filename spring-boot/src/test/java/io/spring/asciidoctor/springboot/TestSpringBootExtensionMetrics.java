@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.spring.asciidoctor.springboot.ConfigurationPropertyValidator.Outcome;
+
+/**
+ * Test {@link SpringBootExtensionMetrics} implementation that records the metrics that it
+ * receives.
+ *
+ * @author Andy Wilkinson
+ */
+public class TestSpringBootExtensionMetrics implements SpringBootExtensionMetrics {
+
+	final List<Integer> metadataLoads = new CopyOnWriteArrayList<>();
+
+	final List<Outcome> validations = new CopyOnWriteArrayList<>();
+
+	final List<Boolean> cachedValidations = new CopyOnWriteArrayList<>();
+
+	final List<Long> yamlConversions = new CopyOnWriteArrayList<>();
+
+	final List<Integer> configBlocks = new CopyOnWriteArrayList<>();
+
+	final List<Boolean> cachedConfigBlocksConversions = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void metadataLoaded(long nanos, int propertyCount) {
+		this.metadataLoads.add(propertyCount);
+	}
+
+	@Override
+	public void propertyValidated(Outcome outcome, boolean cached) {
+		this.validations.add(outcome);
+		this.cachedValidations.add(cached);
+	}
+
+	@Override
+	public void yamlConverted(long nanos) {
+		this.yamlConversions.add(nanos);
+	}
+
+	@Override
+	public void configBlocksGenerated(int blockCount) {
+		this.configBlocks.add(blockCount);
+	}
+
+	@Override
+	public void configBlocksConverted(boolean cached) {
+		this.cachedConfigBlocksConversions.add(cached);
+	}
+
+	void reset() {
+		this.metadataLoads.clear();
+		this.validations.clear();
+		this.cachedValidations.clear();
+		this.yamlConversions.clear();
+		this.configBlocks.clear();
+		this.cachedConfigBlocksConversions.clear();
+	}
+
+}
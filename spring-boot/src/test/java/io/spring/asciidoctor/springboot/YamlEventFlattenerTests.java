@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.io.StringReader;
+import java.util.List;
+
+import io.spring.asciidoctor.springboot.YamlToPropertiesConverter.Document;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link YamlEventFlattener}.
+ *
+ * @author Andy Wilkinson
+ */
+class YamlEventFlattenerTests {
+
+	@Test
+	void flattenNestedMappingsAndSequences() {
+		List<Document> documents = flatten("a:\n  b: 1\n  c:\n  - x\n  - d: 2\n");
+		assertThat(documents).hasSize(1);
+		assertThat(documents.get(0).entrySet()).extracting("key")
+			.containsExactly("a.b", "a.c[0]", "a.c[1].d");
+		assertThat(documents.get(0).get("a.c[1].d")).isEqualTo("2");
+	}
+
+	@Test
+	void flattenMultipleDocuments() {
+		List<Document> documents = flatten("a: 1\n---\nb: 2\n");
+		assertThat(documents).hasSize(2);
+		assertThat(documents.get(1).get("b")).isEqualTo("2");
+	}
+
+	@Test
+	void flattenAliasReplaysAnchoredNode() {
+		List<Document> documents = flatten("a: &anchor\n  b: 1\nc: *anchor\n");
+		assertThat(documents.get(0).get("c.b")).isEqualTo("1");
+	}
+
+	@Test
+	void flattenMergeGivesPrecedenceToExplicitEntries() {
+		List<Document> documents = flatten(
+				"one: &one\n  a: 1\n  b:\n    x: 1\n    y: 1\ntwo: &two\n  a: 2\n  c: 2\n"
+						+ "merged:\n  b:\n    x: 3\n  <<: [*one, *two]\n");
+		Document document = documents.get(0);
+		assertThat(document.get("merged.a")).isEqualTo("1");
+		assertThat(document.get("merged.b.x")).isEqualTo("3");
+		assertThat(document.get("merged.b.y")).isNull();
+		assertThat(document.get("merged.c")).isEqualTo("2");
+	}
+
+	@Test
+	void flattenMergeFollowedByExplicitEntryReplacesMergedEntry() {
+		Document document = flatten("one: &one\n  b:\n    x: 1\n    y: 1\nmerged:\n  <<: *one\n  b:\n    x: 3\n")
+			.get(0);
+		assertThat(document.get("merged.b.x")).isEqualTo("3");
+		assertThat(document.get("merged.b.y")).isNull();
+	}
+
+	@Test
+	void flattenResolvesPlainScalars() {
+		Document document = flatten("a: 0x1F\nb: 'yes'\nc: yes\nd: ~\ne: 2001-12-14\n").get(0);
+		assertThat(document.get("a")).isEqualTo("31");
+		assertThat(document.get("b")).isEqualTo("yes");
+		assertThat(document.get("c")).isEqualTo("true");
+		assertThat(document.get("d")).isEqualTo("null");
+		assertThat(document.get("e")).isEqualTo("2001-12-14");
+	}
+
+	@Test
+	void flattenKeysThatAreSequencesOrMappings() {
+		Document document = flatten("x:\n  [a]: 1\n  {k: v}: 2\n  ? [b, [c, 0x1F], {d: ~}]\n  : 3\n").get(0);
+		assertThat(document.entrySet()).extracting("key")
+			.containsExactly("x[[a]]", "x[{k=v}]", "x[[b, [c, 31], {d=null}]]");
+	}
+
+	@Test
+	void flattenKeyThatIsAnAliasOfASequence() {
+		Document document = flatten("a: &a [p, q]\nx:\n  *a : z\n").get(0);
+		assertThat(document.get("x[[p, q]]")).isEqualTo("z");
+	}
+
+	@Test
+	void flattenWithDuplicateKeyThrowsException() {
+		assertThatIllegalStateException().isThrownBy(() -> flatten("a: 1\nb: 2\na: 3\n"))
+			.withMessage("Found duplicate key 'a'");
+	}
+
+	@Test
+	void flattenWithUndefinedAliasThrowsException() {
+		assertThatIllegalStateException().isThrownBy(() -> flatten("a: *missing\n"))
+			.withMessage("Found undefined alias 'missing'");
+	}
+
+	private List<Document> flatten(String content) {
+		LoaderOptions loaderOptions = new LoaderOptions();
+		YamlEventFlattener flattener = new YamlEventFlattener(loaderOptions);
+		new Yaml(loaderOptions).parse(new StringReader(content)).forEach(flattener::accept);
+		return flattener.getDocuments();
+	}
+
+}
@@ -20,9 +20,14 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -48,6 +53,27 @@ class YamlToPropertiesConverterTests {
 		assertThat(converted).as(name).isEqualTo(expected);
 	}
 
+	@Test
+	void convertLinesConcurrentlyWithSharedConverter() throws Exception {
+		File[] yamlFiles = yamlFiles();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				File yamlFile = yamlFiles[i % yamlFiles.length];
+				List<String> source = readLines(yamlFile);
+				List<String> expected = this.converter.convertLines(source);
+				results.add(executor.submit(() -> this.converter.convertLines(source).equals(expected)));
+			}
+			for (Future<Boolean> result : results) {
+				assertThat(result.get()).isTrue();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
 	private List<String> readLines(File propertiesFile) throws IOException {
 		return Files.lines(propertiesFile.toPath()).collect(Collectors.toList());
 	}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.asciidoctor.springboot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the Java Flight Recorder events that replace the no-op events on Java 11
+ * and later.
+ *
+ * @author Andy Wilkinson
+ */
+class FlightRecorderEventsTests {
+
+	private static final String METADATA_LOAD = "io.spring.asciidoctor.springboot.MetadataLoad";
+
+	private static final String TREEPROCESSOR = "io.spring.asciidoctor.springboot.Treeprocessor";
+
+	private static final String YAML_CONVERSION = "io.spring.asciidoctor.springboot.YamlConversion";
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void metadataLoadIsRecorded() throws IOException {
+		String location = "src/test/resources/metadata/project-a";
+		List<RecordedEvent> events = record(METADATA_LOAD, () -> ConfigurationProperties.fromLocations(location));
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getString("source")).isEqualTo(location);
+		assertThat(events.get(0).getInt("propertyCount")).isEqualTo(3);
+	}
+
+	@Test
+	void yamlConversionIsRecorded() throws IOException {
+		String content = "a: 1\n---\nb: 2\n";
+		List<RecordedEvent> events = record(YAML_CONVERSION,
+				() -> new YamlToPropertiesConverter().convertContent(content));
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getInt("contentLength")).isEqualTo(content.length());
+		assertThat(events.get(0).getInt("documentCount")).isEqualTo(2);
+	}
+
+	@Test
+	void treeprocessorPassIsRecorded() throws IOException {
+		Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+		List<RecordedEvent> events = record(TREEPROCESSOR,
+				() -> asciidoctor.convert("= Example\n\nconfigprop:example.property.alpha[]", options()));
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getString("treeprocessor")).isEqualTo("SpringBootTreeprocessor");
+	}
+
+	private List<RecordedEvent> record(String name, Runnable action) throws IOException {
+		Path file = this.temp.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(name);
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+		}
+		return RecordingFile.readAllEvents(file)
+			.stream()
+			.filter((event) -> name.equals(event.getEventType().getName()))
+			.collect(Collectors.toList());
+	}
+
+	@SuppressWarnings("deprecation")
+	private Options options() {
+		return new Options();
+	}
+
+}